@@ -0,0 +1,23 @@
+package com.zombicide.missiongen.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persisted frontier of a layout enumeration: the subtree prefixes still to
+ * search, each a list of tile * 4 + rotation states for the first cells, and
+ * the number of layouts delivered by the prefixes already completed.
+ */
+public class EnumerationCheckpointDTO {
+    public int width;
+    public int height;
+    public int prefixDepth;
+    public long delivered;
+    public List<String> tileIds;
+    public List<int[]> prefixes;
+
+    public EnumerationCheckpointDTO() {
+        this.tileIds = new ArrayList<>();
+        this.prefixes = new ArrayList<>();
+    }
+}
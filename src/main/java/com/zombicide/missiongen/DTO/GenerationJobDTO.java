@@ -0,0 +1,24 @@
+package com.zombicide.missiongen.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Share of a layout enumeration handed to one worker: the collection to load
+ * the tile pool from, the tile ids the prefixes refer to, the prefixes to
+ * search and the layout store file to write the results to.
+ */
+public class GenerationJobDTO {
+    public String edition;
+    public String collection;
+    public int width;
+    public int height;
+    public List<String> tileIds;
+    public List<int[]> prefixes;
+    public String outputPath;
+
+    public GenerationJobDTO() {
+        this.tileIds = new ArrayList<>();
+        this.prefixes = new ArrayList<>();
+    }
+}
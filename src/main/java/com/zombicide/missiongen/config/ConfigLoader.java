@@ -1,7 +1,7 @@
 package com.zombicide.missiongen.config;
 
 import java.awt.Color;
-import java.awt.Image;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -173,10 +173,10 @@ public class ConfigLoader {
         return Color.decode(colorString);
     }
 
-    public Image getNoTileYetImage() {
+    public BufferedImage getNoTileYetImage() {
         // devuelve la imagen no_tile_yet.png de la carpete resources/images
         // debe cargar la imagen desde el classpath
-        Image image = null;
+        BufferedImage image = null;
         try {
             image = ImageIO.read(this.getClass().getResource("/images/no_tile.png"));
         } catch (IOException e) {
@@ -96,25 +96,26 @@ public class Mission {
     }
 
     public static Mission fromMissionDTO(MissionDTO missionDTO) {
-        // Create an empty MissionBoard (no image will be loaded from DTO)
-        // We need to initialize the MissionBoard so we can add areas and connections to
-        // it
-        Image backgroundImage = null;
-        try {
-            if (missionDTO.imagePath != null) {
-                backgroundImage = ImageIO.read(new File(missionDTO.imagePath));
+        String boardId = missionDTO.edition + "." + missionDTO.collection + "." + missionDTO.missionName;
+        MissionBoard missionBoard;
+        if (hasTiles(missionDTO.gridTiles)) {
+            // the background is drawn from the tile images, the saved mission image is not read
+            missionBoard = new MissionBoard(boardId, missionDTO.imagePath, missionDTO.width, missionDTO.height,
+                    missionDTO.gridTiles);
+        } else {
+            // missions saved without their tiles only have the mission image
+            Image backgroundImage = null;
+            try {
+                if (missionDTO.imagePath != null) {
+                    backgroundImage = ImageIO.read(new File(missionDTO.imagePath));
+                }
+            } catch (IOException e) {
+                logger.error("Error reading mission image: {}", missionDTO.imagePath, e);
             }
-        } catch (IOException e) {
-            logger.error("Error reading mission image: {}", missionDTO.imagePath, e);
+            missionBoard = new MissionBoard(boardId, backgroundImage, missionDTO.imagePath, missionDTO.width,
+                    missionDTO.height, missionDTO.gridTiles);
         }
 
-        MissionBoard missionBoard = new MissionBoard(
-                missionDTO.edition + "." + missionDTO.collection + "." + missionDTO.missionName,
-                backgroundImage,
-                missionDTO.imagePath,
-                missionDTO.width,
-                missionDTO.height, missionDTO.gridTiles);
-
         Mission mission = new Mission(missionDTO.rows, missionDTO.cols, missionDTO.width, missionDTO.height,
                 missionDTO.edition, missionDTO.collection, missionDTO.imagePath, missionDTO.missionName, missionBoard);
 
@@ -146,6 +147,20 @@ public class Mission {
         return mission;
     }
 
+    private static boolean hasTiles(MissionTileEntry[][] gridTiles) {
+        if (gridTiles == null || gridTiles.length == 0 || gridTiles[0].length == 0) {
+            return false;
+        }
+        for (MissionTileEntry[] row : gridTiles) {
+            for (MissionTileEntry entry : row) {
+                if (entry != null && !entry.isNull() && entry.getImagePath() != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     public MissionTileEntry[][] getGridTiles() {
         return this.missionBoard.getGridTiles();
     }
@@ -5,6 +5,7 @@ import java.awt.Image;
 import java.awt.Point;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -31,7 +32,11 @@ public abstract class BaseBoard {
     private Image backgroundImage;
     private int width;
     private int height;
+    // backgroundImage is never rotated, the rotation is applied when drawing
     private int rotation = 0;
+    // getImage() result for rotatedImageRotation, rewritten after a rotation
+    private BufferedImage rotatedImage;
+    private int rotatedImageRotation;
 
     private String imagePath;
 
@@ -54,9 +59,12 @@ public abstract class BaseBoard {
 
     public BaseBoard(BaseBoard boardToCopy) {
         this.boardId = boardToCopy.getBoardId();
-        this.backgroundImage = clonarImage(boardToCopy.backgroundImage);
+        // the image is never rewritten, so copies share it
+        this.backgroundImage = boardToCopy.backgroundImage;
         this.width = boardToCopy.width;
         this.height = boardToCopy.height;
+        this.rotation = boardToCopy.rotation;
+        this.imagePath = boardToCopy.imagePath;
         this.config = boardToCopy.config;
         this.areas = new ArrayList<>();
         this.connections = new ArrayList<>();
@@ -72,6 +80,13 @@ public abstract class BaseBoard {
 
     public void addArea(BoardArea area) {
         areas.add(area);
+        onAreasChanged();
+    }
+
+    /**
+     * Called whenever the areas of the board or their locations change.
+     */
+    protected void onAreasChanged() {
     }
 
     public void addAvailableArea() {
@@ -126,6 +141,7 @@ public abstract class BaseBoard {
 
     public void removeArea(UUID id) {
         areas.removeIf(area -> area.getAreaId().equals(id));
+        onAreasChanged();
     }
 
     public void removeConnection(UUID idA, UUID idB) {
@@ -190,6 +206,7 @@ public abstract class BaseBoard {
         BoardArea bottomArea = BoardAreaFactiory.createBoardIndoorArea(new Point(area.getTopLeft().x,
                 splitPoint), area.getBottomRight());
         areas.add(bottomArea);
+        onAreasChanged();
 
         logger.info("Split area {} horizontally into {} (top) and {} (bottom)", areaId, topArea.getAreaId(),
                 bottomArea.getAreaId());
@@ -212,6 +229,7 @@ public abstract class BaseBoard {
         BoardArea rightArea = BoardAreaFactiory.createBoardIndoorArea(new Point(splitPoint,
                 area.getTopLeft().y), area.getBottomRight());
         areas.add(rightArea);
+        onAreasChanged();
 
         logger.info("Split area {} vertically into {} (left) and {} (right)", areaId, leftArea.getAreaId(),
                 rightArea.getAreaId());
@@ -234,8 +252,47 @@ public abstract class BaseBoard {
         return height;
     }
 
+    /**
+     * The background turned by the rotation of the board. It is rotated the
+     * first time it is asked for after a rotation, into the same image when the
+     * size allows, so a caller must not keep it across rotations. Drawing code
+     * should use {@link #drawImage} instead, which rotates nothing.
+     */
     public Image getImage() {
-        return backgroundImage;
+        if (this.rotation == 0 || this.backgroundImage == null) {
+            return this.backgroundImage;
+        }
+        if (this.rotatedImage == null || this.rotatedImageRotation != this.rotation) {
+            BufferedImage source = this.backgroundImage instanceof BufferedImage
+                    ? (BufferedImage) this.backgroundImage
+                    : ImageOperations.copyImage(this.backgroundImage);
+            this.rotatedImage = ImageOperations.rotateQuarterTurns(source, this.rotation / 90, this.rotatedImage);
+            this.rotatedImageRotation = this.rotation;
+        }
+        return this.rotatedImage;
+    }
+
+    public boolean hasImage() {
+        return this.backgroundImage != null;
+    }
+
+    /**
+     * The background as loaded, before the rotation of the board.
+     */
+    public Image getOriginalImage() {
+        return this.backgroundImage;
+    }
+
+    /**
+     * Draws the background turned by the rotation of the board into the given
+     * rectangle, letting the graphics transform do the rotation.
+     */
+    public void drawImage(Graphics2D g, int x, int y, int width, int height, ImageObserver observer) {
+        if (this.rotation == 0) {
+            g.drawImage(getImage(), x, y, width, height, observer);
+        } else {
+            ImageOperations.drawRotated(g, this.backgroundImage, this.rotation / 90, x, y, width, height, observer);
+        }
     }
 
     public void shiftAreas(int x, int y) {
@@ -245,14 +302,11 @@ public abstract class BaseBoard {
     }
 
     public void rotate() {
-        if(this.backgroundImage == null){
-            return;
-        }
-        this.backgroundImage = ImageOperations.rotateImageBy90Degrees(this.backgroundImage);
         rotateBoardAreas();
         rotateStreetAreas();
         rotateConnections();
         this.rotation = (this.rotation + 90) % 360;
+        onAreasChanged();
     }
 
     public int getRotation() {
@@ -335,6 +389,7 @@ public abstract class BaseBoard {
 
     public void setAreas(List<BoardArea> areas) {
         this.areas = areas;
+        onAreasChanged();
     }
 
     public void setConnections(List<BoardAreaConnection> connections) {
@@ -0,0 +1,111 @@
+package com.zombicide.missiongen.model.board;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.areas.BoardArea;
+import com.zombicide.missiongen.model.areas.Direction;
+import com.zombicide.missiongen.model.helpers.TileOperations;
+import com.zombicide.missiongen.model.helpers.TileOperations.MirrorStreetLocation;
+
+/**
+ * Compact street signature of a board: one bit per street AreaLocation
+ * (bit = ordinal), so every side of the tile is a sub mask.
+ * The street mirroring rules of
+ * {@link TileOperations#getNeighbouringStreetLocation(AreaLocation)} are turned
+ * into lookup tables once, so checking two neighbours is a couple of bitwise
+ * operations instead of scanning the area lists.
+ */
+public final class EdgeSignature {
+
+    public static final int NORTH_SIDE = bit(AreaLocation.TOP_LEFT_STREET) | bit(AreaLocation.TOP_MIDDLE_STREET)
+            | bit(AreaLocation.TOP_RIGHT_STREET);
+    public static final int SOUTH_SIDE = bit(AreaLocation.BOTTOM_LEFT_STREET)
+            | bit(AreaLocation.BOTTOM_MIDDLE_STREET) | bit(AreaLocation.BOTTOM_RIGHT_STREET);
+    public static final int WEST_SIDE = bit(AreaLocation.TOP_LEFT_STREET) | bit(AreaLocation.MIDDLE_LEFT_STREET)
+            | bit(AreaLocation.BOTTOM_LEFT_STREET);
+    public static final int EAST_SIDE = bit(AreaLocation.TOP_RIGHT_STREET) | bit(AreaLocation.MIDDLE_RIGHT_STREET)
+            | bit(AreaLocation.BOTTOM_RIGHT_STREET);
+
+    private static final int SIGNATURES = 1 << 8;
+
+    // [direction][signature]: street locations of this board that must be present
+    // in the neighbour at direction, in this board bit positions
+    private static final int[] LINK_MASK = new int[Direction.values().length];
+    private static final int[][] MIRRORED = new int[Direction.values().length][SIGNATURES];
+    private static final int[] ROTATED = new int[SIGNATURES];
+
+    static {
+        for (AreaLocation location : AreaLocation.getStreetLocations()) {
+            for (MirrorStreetLocation mirror : TileOperations.getNeighbouringStreetLocation(location)) {
+                int direction = mirror.direction.ordinal();
+                LINK_MASK[direction] |= bit(location);
+                for (int signature = 0; signature < SIGNATURES; signature++) {
+                    if ((signature & bit(mirror.location)) != 0) {
+                        MIRRORED[direction][signature] |= bit(location);
+                    }
+                }
+            }
+        }
+        for (int signature = 0; signature < SIGNATURES; signature++) {
+            for (AreaLocation location : AreaLocation.getStreetLocations()) {
+                if ((signature & bit(location)) != 0) {
+                    ROTATED[signature] |= bit(location.rotate());
+                }
+            }
+        }
+    }
+
+    private EdgeSignature() {
+    }
+
+    public static int bit(AreaLocation location) {
+        return location == AreaLocation.OTHER ? 0 : 1 << location.ordinal();
+    }
+
+    public static int of(BaseBoard board) {
+        int signature = 0;
+        for (BoardArea area : board.getAreas()) {
+            if (area.getAreaLocation() != null) {
+                signature |= bit(area.getAreaLocation());
+            }
+        }
+        return signature;
+    }
+
+    public static boolean has(int signature, AreaLocation location) {
+        return (signature & bit(location)) != 0;
+    }
+
+    /**
+     * Rotates a signature clockwise, following {@link AreaLocation#rotate()}.
+     */
+    public static int rotate(int signature, int quarterTurns) {
+        for (int i = 0; i < (quarterTurns & 3); i++) {
+            signature = ROTATED[signature];
+        }
+        return signature;
+    }
+
+    /**
+     * Checks the street mirroring rules between a board and its neighbour placed
+     * at the given direction.
+     */
+    public static boolean compatible(int signature, int neighbourSignature, Direction direction) {
+        int d = direction.ordinal();
+        return ((signature ^ MIRRORED[d][neighbourSignature]) & LINK_MASK[d]) == 0;
+    }
+
+    public static int side(int signature, Direction side) {
+        switch (side) {
+            case NORTH:
+                return signature & NORTH_SIDE;
+            case SOUTH:
+                return signature & SOUTH_SIDE;
+            case EAST:
+                return signature & EAST_SIDE;
+            case WEST:
+                return signature & WEST_SIDE;
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.zombicide.missiongen.model.board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.areas.BoardArea;
+import com.zombicide.missiongen.model.helpers.DisjointSet;
+import com.zombicide.missiongen.model.helpers.TileOperations;
+import com.zombicide.missiongen.model.helpers.TileOperations.MirrorStreetLocation;
+
+/**
+ * Every area of a MissionGrid addressed by an int handle (row-major over the
+ * cells, then in board order), with the street areas that mirror each other
+ * across tiles merged in a {@link DisjointSet}. Streets chaining over any
+ * number of tiles end up in the same set.
+ */
+public class MissionAreaIndex {
+
+    private static final List<AreaLocation> STREET_LOCATIONS = AreaLocation.getStreetLocations();
+    private static final MirrorStreetLocation[][] MIRRORS = new MirrorStreetLocation[AreaLocation.values().length][];
+
+    static {
+        for (AreaLocation location : STREET_LOCATIONS) {
+            MIRRORS[location.ordinal()] = TileOperations.getNeighbouringStreetLocation(location);
+        }
+    }
+
+    private final List<BoardArea> areas = new ArrayList<>();
+    private final List<int[]> cells = new ArrayList<>(); // {col, row} per handle
+    private final DisjointSet sets;
+
+    public MissionAreaIndex(MissionGrid grid) {
+        int width = grid.getGridWidth();
+        int height = grid.getGridHeight();
+        int[][] streetHandles = new int[width * height][AreaLocation.values().length];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int[] cellHandles = streetHandles[row * width + col];
+                Arrays.fill(cellHandles, -1);
+                TileBoard board = grid.getBoard(col, row);
+                if (board == null) {
+                    continue;
+                }
+                for (BoardArea area : board.getAreas()) {
+                    AreaLocation location = area.getAreaLocation();
+                    if (location != null && location != AreaLocation.OTHER && cellHandles[location.ordinal()] < 0) {
+                        cellHandles[location.ordinal()] = areas.size();
+                    }
+                    areas.add(area);
+                    cells.add(new int[] { col, row });
+                }
+            }
+        }
+
+        this.sets = new DisjointSet(areas.size());
+        mergeStreets(width, height, streetHandles, sets);
+    }
+
+    /**
+     * Unions every street handle with the handles of its mirrored locations in
+     * the neighbouring cells.
+     *
+     * @param streetHandles handle per row-major cell and AreaLocation ordinal,
+     *                      -1 where the cell has no such street
+     * @return number of unions that joined two different sets
+     */
+    public static int mergeStreets(int width, int height, int[][] streetHandles, DisjointSet sets) {
+        int merged = 0;
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                for (AreaLocation streetLocation : STREET_LOCATIONS) {
+                    int handle = streetHandles[row * width + col][streetLocation.ordinal()];
+                    if (handle < 0) {
+                        continue;
+                    }
+                    for (MirrorStreetLocation mirror : MIRRORS[streetLocation.ordinal()]) {
+                        int[] offset = TileOperations.getDirectionOffset(col, row, mirror.direction);
+                        if (offset[0] < 0 || offset[1] < 0 || offset[0] >= width || offset[1] >= height) {
+                            continue;
+                        }
+                        int neighbour = streetHandles[offset[1] * width + offset[0]][mirror.location.ordinal()];
+                        if (neighbour >= 0 && sets.union(handle, neighbour)) {
+                            merged++;
+                        }
+                    }
+                }
+            }
+        }
+        return merged;
+    }
+
+    public int size() {
+        return areas.size();
+    }
+
+    public BoardArea getArea(int handle) {
+        return areas.get(handle);
+    }
+
+    public int getCol(int handle) {
+        return cells.get(handle)[0];
+    }
+
+    public int getRow(int handle) {
+        return cells.get(handle)[1];
+    }
+
+    /**
+     * Representative handle of the merge set of the area.
+     */
+    public int find(int handle) {
+        return sets.find(handle);
+    }
+
+    public boolean isMerged(int handle) {
+        return sets.setSize(handle) > 1;
+    }
+
+    /**
+     * Area ids of every merge set with more than one area, in handle order.
+     */
+    public List<Set<UUID>> getMergeGroups() {
+        Map<Integer, Set<UUID>> groups = new LinkedHashMap<>();
+        for (int handle = 0; handle < areas.size(); handle++) {
+            if (isMerged(handle)) {
+                groups.computeIfAbsent(find(handle), root -> new HashSet<>()).add(areas.get(handle).getAreaId());
+            }
+        }
+        return new ArrayList<>(groups.values());
+    }
+}
@@ -1,21 +1,31 @@
 package com.zombicide.missiongen.model.board;
 
+import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.image.ImageObserver;
 import java.util.List;
 import com.zombicide.missiongen.model.areas.BoardArea;
 import com.zombicide.missiongen.model.areas.BoardAreaConnection;
-import com.zombicide.missiongen.model.helpers.ImageOperations;
 
 public class MissionBoard extends BaseBoard {
 
-    private Image originalImage;
+    // background drawn from the tiles, null when the board has a single image
+    private VirtualMissionImage virtualImage;
     MissionTileEntry[][] gridTiles;
     public MissionBoard(String boardId, Image backgroundImage, String imagePath, int width, int height, MissionTileEntry[][] gridTiles) {
         super(boardId, backgroundImage, width, height, imagePath);
-        this.originalImage = ImageOperations.copyImage(backgroundImage);
         this.gridTiles = gridTiles;
     }
 
+    /**
+     * Creates a board whose background is composed from the tile entries when
+     * it is drawn, without holding an image of the whole board.
+     */
+    public MissionBoard(String boardId, String imagePath, int width, int height, MissionTileEntry[][] gridTiles) {
+        this(boardId, null, imagePath, width, height, gridTiles);
+        this.virtualImage = new VirtualMissionImage(gridTiles);
+    }
+
     // public MissionBoard(MissionGridCell[][] grid) {
 
     // }
@@ -32,9 +42,34 @@ public class MissionBoard extends BaseBoard {
         return gridTiles;
     }
 
+    public VirtualMissionImage getVirtualImage() {
+        return virtualImage;
+    }
+
+    /**
+     * For a board drawn from its tiles, composes a new image of the whole board
+     * on every call; prefer {@link #drawImage} for display.
+     */
     @Override
     public Image getImage() {
-        return this.originalImage;
+        if (this.virtualImage != null) {
+            return this.virtualImage.toBufferedImage();
+        }
+        return super.getImage();
+    }
+
+    @Override
+    public boolean hasImage() {
+        return this.virtualImage != null || super.hasImage();
+    }
+
+    @Override
+    public void drawImage(Graphics2D g, int x, int y, int width, int height, ImageObserver observer) {
+        if (this.virtualImage != null) {
+            this.virtualImage.draw(g, x, y, width, height, observer);
+        } else {
+            super.drawImage(g, x, y, width, height, observer);
+        }
     }
 
 }
@@ -3,8 +3,6 @@ package com.zombicide.missiongen.model.board;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -12,8 +10,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-
-import javax.imageio.ImageIO;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,13 +24,16 @@ import com.zombicide.missiongen.config.ConfigLoader;
 import com.zombicide.missiongen.model.Mission;
 import com.zombicide.missiongen.model.areas.BoardArea;
 import com.zombicide.missiongen.model.areas.BoardAreaConnection;
-import com.zombicide.missiongen.model.helpers.ImageOperations;
+import com.zombicide.missiongen.model.helpers.TileImageCache;
 import com.zombicide.missiongen.ui.missionLayout.ZoneMissionGridCell;
 
 public class MissionFactoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(MissionFactoryService.class);
 
+    // decodes tile images, shared by every mission build
+    private static final ExecutorService TILE_DECODER = createTileDecoder();
+
     public static Mission createMission(String missionId, String edition, String collection, String missionName,
             MissionGrid grid) {
 
@@ -55,13 +60,14 @@ public class MissionFactoryService {
 
     public static MissionBoard createMissionBoard(MissionGrid grid,String imagePath) {
         //Image image = createMissionBoardImage(grid);
-        Image image = createMissionBoardImageComplete(grid);
+        // the background is composed from the tile images when drawn, see VirtualMissionImage
         int tileWidth = Integer.parseInt(ConfigLoader.getInstance().getProperty("tile.width"));
         int tileHeight = Integer.parseInt(ConfigLoader.getInstance().getProperty("tile.height"));
         int missionBoardWidth = grid.getGridWidth() * tileWidth;
         int missionBoardHeight = grid.getGridHeight() * tileHeight;
         String missionBoardId = UUID.randomUUID().toString();
-        MissionBoard missionBoard = new MissionBoard(missionBoardId, image,imagePath, missionBoardWidth, missionBoardHeight,grid.toMissionTileEntries());
+        MissionBoard missionBoard = new MissionBoard(missionBoardId, imagePath, missionBoardWidth, missionBoardHeight,
+                grid.toMissionTileEntries());
         missionBoard = addAreas(missionBoard, grid,
                 tileWidth,
                 tileHeight);
@@ -72,16 +78,25 @@ public class MissionFactoryService {
     private static MissionBoard addAreas(MissionBoard missionBoard, MissionGrid grid, int tileWidth,
             int tileHeight) {
 
-        List<Set<UUID>> areasToMerge = grid.getAreasToMerge();
+        MissionAreaIndex areaIndex = grid.getAreaIndex();
 
         // Create merge map: assign a new UUID to each set of areas to merge
+        UUID[] mergedIdByRoot = new UUID[areaIndex.size()];
         Map<UUID, Set<UUID>> mergeMap = new HashMap<>();
-        for (Set<UUID> areasId : areasToMerge) {
-            mergeMap.put(UUID.randomUUID(), areasId);
+        for (int handle = 0; handle < areaIndex.size(); handle++) {
+            if (!areaIndex.isMerged(handle)) {
+                continue;
+            }
+            int root = areaIndex.find(handle);
+            if (mergedIdByRoot[root] == null) {
+                mergedIdByRoot[root] = UUID.randomUUID();
+                mergeMap.put(mergedIdByRoot[root], new HashSet<>());
+            }
+            mergeMap.get(mergedIdByRoot[root]).add(areaIndex.getArea(handle).getAreaId());
         }
 
         // Get all areas (merged and shifted)
-        List<BoardArea> allAreas = getAllAreasMergedAndShifted(grid, mergeMap, tileWidth, tileHeight);
+        List<BoardArea> allAreas = getAllAreasMergedAndShifted(areaIndex, mergedIdByRoot, tileWidth, tileHeight);
 
         // Get all connections with remapped UUIDs
         List<BoardAreaConnection> connections = getMergedConnections(grid, mergeMap);
@@ -236,123 +251,72 @@ public class MissionFactoryService {
      * Devuelve todas las areas de la mision, hace un shift de las coordenadas de
      * las areas dependiendo de en que zona de la grid esta.
      * Crea las areas de merge creando un top-left y un bottom-right que seran los
-     * limites de la area nueva.
+     * limites de la area nueva. Two linear passes over the area handles: the
+     * first accumulates the bounding box of every merge set, the second emits
+     * each merged area at the position of its first member.
      * 
-     * @param grid     The mission grid containing all tiles
-     * @param mergeMap Map of new UUID -> Set of old UUIDs to be merged
+     * @param areaIndex      The area handles and merge sets of the grid
+     * @param mergedIdByRoot New UUID of every merge set, indexed by root handle
      * @return List of all areas with shifted coordinates and merged areas
      */
-    private static List<BoardArea> getAllAreasMergedAndShifted(MissionGrid grid,
-            Map<UUID, Set<UUID>> mergeMap,
+    private static List<BoardArea> getAllAreasMergedAndShifted(MissionAreaIndex areaIndex,
+            UUID[] mergedIdByRoot,
             int tileWidth,
             int tileHeight) {
-        List<BoardArea> allAreas = new ArrayList<>();
-
-        // Create reverse map: old UUID -> new UUID for quick lookup
-        Map<UUID, UUID> oldToNewMap = new HashMap<>();
-        for (Map.Entry<UUID, Set<UUID>> entry : mergeMap.entrySet()) {
-            UUID newUuid = entry.getKey();
-            for (UUID oldUuid : entry.getValue()) {
-                oldToNewMap.put(oldUuid, newUuid);
+        int size = areaIndex.size();
+        int[] minX = new int[size];
+        int[] minY = new int[size];
+        int[] maxX = new int[size];
+        int[] maxY = new int[size];
+        boolean[] seen = new boolean[size];
+
+        // Find bounding box of every merge set
+        for (int handle = 0; handle < size; handle++) {
+            if (!areaIndex.isMerged(handle)) {
+                continue;
             }
-        }
-
-        // Track which areas have been processed (to avoid duplicates for merged areas)
-        Set<UUID> processedMergedAreas = new HashSet<>();
-
-        // Collect all areas from the grid
-        for (int row = 0; row < grid.getGridHeight(); row++) {
-            for (int col = 0; col < grid.getGridWidth(); col++) {
-                TileBoard board = grid.getBoard(col, row);
-                if (board != null) {
-                    // Calculate shift offset for this tile position
-                    int shiftX = col * tileWidth;
-                    int shiftY = row * tileHeight;
-
-                    for (BoardArea area : board.getAreas()) {
-                        UUID areaId = area.getAreaId();
-
-                        // Check if this area is part of a merge
-                        if (oldToNewMap.containsKey(areaId)) {
-                            UUID newMergedId = oldToNewMap.get(areaId);
-
-                            // Only process each merged area once
-                            if (!processedMergedAreas.contains(newMergedId)) {
-                                processedMergedAreas.add(newMergedId);
-
-                                // Create merged area by finding bounding box of all areas to merge
-                                BoardArea mergedArea = createMergedArea(grid, mergeMap.get(newMergedId),
-                                        newMergedId, tileWidth, tileHeight);
-                                allAreas.add(mergedArea);
-                            }
-                        } else {
-                            // Not a merged area - just shift coordinates and add
-                            BoardArea shiftedArea = createShiftedArea(area, shiftX, shiftY);
-                            allAreas.add(shiftedArea);
-                        }
-                    }
-                }
+            int root = areaIndex.find(handle);
+            BoardArea area = areaIndex.getArea(handle);
+            int areaX = area.getTopLeft().x + areaIndex.getCol(handle) * tileWidth;
+            int areaY = area.getTopLeft().y + areaIndex.getRow(handle) * tileHeight;
+            if (!seen[root]) {
+                seen[root] = true;
+                minX[root] = areaX;
+                minY[root] = areaY;
+                maxX[root] = areaX + area.getWidth();
+                maxY[root] = areaY + area.getHeight();
+            } else {
+                minX[root] = Math.min(minX[root], areaX);
+                minY[root] = Math.min(minY[root], areaY);
+                maxX[root] = Math.max(maxX[root], areaX + area.getWidth());
+                maxY[root] = Math.max(maxY[root], areaY + area.getHeight());
             }
         }
 
-        return allAreas;
-    }
-
-    /**
-     * Creates a merged area by calculating the bounding box of all areas to merge.
-     */
-    private static BoardArea createMergedArea(MissionGrid grid, Set<UUID> areasToMerge,
-            UUID newMergedId, int tileWidth, int tileHeight) {
-        int minX = Integer.MAX_VALUE;
-        int minY = Integer.MAX_VALUE;
-        int maxX = Integer.MIN_VALUE;
-        int maxY = Integer.MIN_VALUE;
-
-        BoardArea firstArea = null;
-
-        // Find bounding box across all tiles
-        for (int row = 0; row < grid.getGridHeight(); row++) {
-            for (int col = 0; col < grid.getGridWidth(); col++) {
-                TileBoard board = grid.getBoard(col, row);
-                if (board != null) {
-                    int shiftX = col * tileWidth;
-                    int shiftY = row * tileHeight;
-
-                    for (BoardArea area : board.getAreas()) {
-                        if (areasToMerge.contains(area.getAreaId())) {
-                            if (firstArea == null) {
-                                firstArea = area;
-                            }
-
-                            // Calculate shifted coordinates
-                            int areaX = area.getTopLeft().x + shiftX;
-                            int areaY = area.getTopLeft().y + shiftY;
-
-                            minX = Math.min(minX, areaX);
-                            minY = Math.min(minY, areaY);
-                            maxX = Math.max(maxX, areaX + area.getWidth());
-                            maxY = Math.max(maxY, areaY + area.getHeight());
-                        }
-                    }
-                }
+        List<BoardArea> allAreas = new ArrayList<>();
+        boolean[] emitted = new boolean[size];
+        for (int handle = 0; handle < size; handle++) {
+            BoardArea area = areaIndex.getArea(handle);
+            if (!areaIndex.isMerged(handle)) {
+                // Not a merged area - just shift coordinates and add
+                allAreas.add(createShiftedArea(area, areaIndex.getCol(handle) * tileWidth,
+                        areaIndex.getRow(handle) * tileHeight));
+                continue;
             }
+            int root = areaIndex.find(handle);
+            if (emitted[root]) {
+                continue;
+            }
+            emitted[root] = true;
+            BoardArea mergedArea = new BoardArea(mergedIdByRoot[root], new java.awt.Point(minX[root], minY[root]),
+                    maxX[root] - minX[root], maxY[root] - minY[root]);
+            // Copy properties from first area, keeping the street location
+            mergedArea.setAreaType(area.getAreaType());
+            mergedArea.setAreaLocation(area.getAreaLocation());
+            allAreas.add(mergedArea);
         }
 
-        // Create new merged area with bounding box
-        int width = maxX - minX;
-        int height = maxY - minY;
-
-        BoardArea mergedArea = new BoardArea(newMergedId, new java.awt.Point(minX, minY), width, height);
-
-        // Copy properties from first area (type, location if not street, assets)
-        if (firstArea != null) {
-            mergedArea.setAreaType(firstArea.getAreaType());
-            // For merged street areas, we might want to set location to OTHER or keep it
-            // For now, keep the location from first area
-            mergedArea.setAreaLocation(firstArea.getAreaLocation());
-        }
-
-        return mergedArea;
+        return allAreas;
     }
 
     /**
@@ -413,56 +377,146 @@ public class MissionFactoryService {
         return missionImage;
     }
 
-     private static Image createMissionBoardImageComplete(MissionGrid grid) {
-        if (grid == null || grid.getGridWidth() == 0 || grid.getGridHeight() == 0) {
+    /**
+     * Composes the full image of a mission from its tile entries, at the
+     * resolution of the tiles.
+     *
+     * @param entries tile entries indexed [row][col], null for empty cells
+     */
+    public static BufferedImage composeMissionImage(MissionTileEntry[][] entries) {
+        if (entries == null || entries.length == 0 || entries[0].length == 0) {
             return null;
         }
-        //load all iamges in a grid
-        Image[][] images = new Image[grid.getGridHeight()][grid.getGridWidth()];
-        MissionTileEntry[][] entries = grid.toMissionTileEntries();
-        for(int i=0;i<grid.getGridHeight();i++){
-            for(int j=0;j<grid.getGridWidth();j++){
-                MissionTileEntry entry = entries[i][j];
-                if(entry!=null){
-                    try {
-                        Image img = ImageIO.read(new File(entry.getImagePath()));
-                        images[i][j] = ImageOperations.rotateImage(img, entry.getRotation());
-                    } catch (IOException e) {
-                       logger.error("Error loading tile image for tile: {}", entry.getTileName(), e);
-                        return null;
-                    }
+        int gridHeight = entries.length;
+        int gridWidth = entries[0].length;
+        // load all images in a grid, a tile that fails is drawn as the no tile image
+        List<TileImageFailure> failures = new ArrayList<>();
+        BufferedImage[][] images = loadTileImages(entries, failures);
+
+        // every cell takes the size of the first decoded tile
+        int tileWidth = Integer.parseInt(ConfigLoader.getInstance().getProperty("tile.width"));
+        int tileHeight = Integer.parseInt(ConfigLoader.getInstance().getProperty("tile.height"));
+        search: for (int i = 0; i < gridHeight; i++) {
+            for (int j = 0; j < gridWidth; j++) {
+                if (images[i][j] != null) {
+                    tileWidth = images[i][j].getWidth(null);
+                    tileHeight = images[i][j].getHeight(null);
+                    break search;
                 }
             }
         }
-        //calculate total width and height
-        int totalWidth = 0;
-        for(int j=0;j<grid.getGridWidth();j++){
-            if(images[0][j]!=null){
-                totalWidth += images[0][j].getWidth(null);
-            }
-        }
-        //calculate total height
-        int totalHeight = 0;
-        for(int i=0;i<grid.getGridHeight();i++){
-            if(images[i][0]!=null){
-                totalHeight+= images[i][0].getHeight(null);
-            }
-        }
 
+        BufferedImage noTileImage = failures.isEmpty() ? null : ConfigLoader.getInstance().getNoTileYetImage();
+        for (TileImageFailure failure : failures) {
+            logger.error("Error loading tile image for tile {} at row {} col {}", failure.tileName, failure.row,
+                    failure.col, failure.cause);
+            images[failure.row][failure.col] = noTileImage;
+        }
 
-        BufferedImage missionImage = new BufferedImage(totalWidth, totalHeight,
-                BufferedImage.TYPE_INT_ARGB);
+        BufferedImage missionImage = new BufferedImage(gridWidth * tileWidth,
+                gridHeight * tileHeight, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2d = missionImage.createGraphics();
-        for(int i=0;i<grid.getGridHeight();i++){
-            for(int j=0;j<grid.getGridWidth();j++){
-                int tileWidth = images[i][j].getWidth(null);
-                int tileHeight = images[i][j].getHeight(null);
-                g2d.drawImage(images[i][j], j * tileWidth, i * tileHeight, tileWidth, tileHeight, null);
+        for (int i = 0; i < gridHeight; i++) {
+            for (int j = 0; j < gridWidth; j++) {
+                if (images[i][j] != null) {
+                    g2d.drawImage(images[i][j], j * tileWidth, i * tileHeight, tileWidth, tileHeight, null);
                 }
             }
+        }
         g2d.dispose();
+        TileImageCache cache = TileImageCache.getInstance();
+        logger.info("Tile image cache: {} hits, {} misses, {} disk reads, {} of {} bytes", cache.getHits(),
+                cache.getMisses(), cache.getDiskReads(), cache.getSizeBytes(), cache.getMaxBytes());
         return missionImage;
     }
 
+    /**
+     * Decodes and rotates the tile images of a grid, one task per entry on a
+     * shared pool bounded by the number of processors, and waits for all of
+     * them. A tile that cannot be loaded leaves its cell null and is added to
+     * the failures; the other tiles are still returned.
+     *
+     * @param entries  tile entries indexed [row][col], null or empty for empty cells
+     * @param failures receives one failure per tile that could not be loaded
+     * @return images indexed [row][col]
+     */
+    public static BufferedImage[][] loadTileImages(MissionTileEntry[][] entries, List<TileImageFailure> failures) {
+        BufferedImage[][] images = new BufferedImage[entries.length][];
+        List<Future<BufferedImage>> tasks = new ArrayList<>();
+        List<MissionTileEntry> taskEntries = new ArrayList<>();
+        List<int[]> taskCells = new ArrayList<>();
+        for (int i = 0; i < entries.length; i++) {
+            images[i] = new BufferedImage[entries[i].length];
+            for (int j = 0; j < entries[i].length; j++) {
+                MissionTileEntry entry = entries[i][j];
+                if (entry == null || entry.isNull()) {
+                    continue;
+                }
+                // decoded and rotated once per process, rebuilding a mission reads no file
+                tasks.add(TILE_DECODER.submit(
+                        () -> TileImageCache.getInstance().get(entry.getImagePath(), entry.getRotation())));
+                taskEntries.add(entry);
+                taskCells.add(new int[] { i, j });
+            }
+        }
+        boolean interrupted = false;
+        for (int task = 0; task < tasks.size(); task++) {
+            int[] cell = taskCells.get(task);
+            Throwable cause;
+            try {
+                if (interrupted) {
+                    tasks.get(task).cancel(true);
+                    throw new InterruptedException("Tile loading interrupted");
+                }
+                images[cell[0]][cell[1]] = tasks.get(task).get();
+                continue;
+            } catch (ExecutionException e) {
+                cause = e.getCause();
+            } catch (InterruptedException e) {
+                interrupted = true;
+                cause = e;
+            }
+            failures.add(new TileImageFailure(cell[0], cell[1], taskEntries.get(task).getTileName(), cause));
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return images;
+    }
+
+    /**
+     * Runs a task on the pool that decodes the tile images, so tiles can be
+     * loaded without blocking the caller.
+     */
+    static <T> Future<T> submitTileTask(Callable<T> task) {
+        return TILE_DECODER.submit(task);
+    }
+
+    /**
+     * A tile image that could not be loaded.
+     */
+    public static class TileImageFailure {
+        public final int row;
+        public final int col;
+        public final String tileName;
+        public final Throwable cause;
+
+        TileImageFailure(int row, int col, String tileName, Throwable cause) {
+            this.row = row;
+            this.col = col;
+            this.tileName = tileName;
+            this.cause = cause;
+        }
+    }
+
+    private static ExecutorService createTileDecoder() {
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+            Thread thread = new Thread(task, "tile-decoder-" + threads.incrementAndGet());
+            // never keeps the application alive
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
     
 }
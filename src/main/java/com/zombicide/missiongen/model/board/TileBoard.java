@@ -11,6 +11,9 @@ import com.zombicide.missiongen.config.ConfigLoader;
 
 public class TileBoard extends BaseBoard {
 
+    // street signature for 0..3 extra quarter turns, computed on first use
+    private int[] edgeSignatures;
+
     public TileBoard(String boardId, Image backgroundImage, int width,String imagePath) {
         super(boardId, backgroundImage, width, width, imagePath);
     }
@@ -19,6 +22,35 @@ public class TileBoard extends BaseBoard {
         super(boardToCopy);
     }
 
+    /**
+     * Street signature of the board turned the given number of quarter turns
+     * clockwise from its current orientation.
+     *
+     * @see EdgeSignature
+     */
+    public int getEdgeSignature(int quarterTurns) {
+        int[] signatures = this.edgeSignatures;
+        if (signatures == null) {
+            signatures = new int[4];
+            int signature = EdgeSignature.of(this);
+            for (int rotation = 0; rotation < 4; rotation++) {
+                signatures[rotation] = signature;
+                signature = EdgeSignature.rotate(signature, 1);
+            }
+            this.edgeSignatures = signatures;
+        }
+        return signatures[quarterTurns & 3];
+    }
+
+    public int getEdgeSignature() {
+        return getEdgeSignature(0);
+    }
+
+    @Override
+    protected void onAreasChanged() {
+        this.edgeSignatures = null;
+    }
+
     public static TileBoard createEmptyBoard(String edition, String collection) {
         int tileWidth = ConfigLoader.getInstance().getPropertyAsInt("tile.width");
         // carga la imagen de fondo desde classparh resources
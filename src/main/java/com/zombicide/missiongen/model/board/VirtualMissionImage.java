@@ -0,0 +1,198 @@
+package com.zombicide.missiongen.model.board;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zombicide.missiongen.config.ConfigLoader;
+import com.zombicide.missiongen.model.helpers.TileImageCache;
+
+/**
+ * The background of a mission described by its tile entries instead of held
+ * as one image of the whole board. Every cell keeps its tile scaled to the
+ * size it was last drawn at, so painting never touches the full resolution
+ * tiles and the memory used follows the size of the board on screen.
+ * A cell drawn at a new size, or for the first time, is loaded in the
+ * background on the tile decoder pool from the shared {@link TileImageCache};
+ * meanwhile the cell shows its previous image or a placeholder, and the
+ * observer is told to repaint once the tile is ready. Cells outside the clip
+ * of the graphics are not loaded, and a tile that fails is not retried.
+ * {@link #toBufferedImage()} composes the full image when one is really
+ * needed, e.g. to save it.
+ */
+public class VirtualMissionImage {
+
+    private static final Color PLACEHOLDER = new Color(0xDDDDDD);
+
+    private final MissionTileEntry[][] entries;
+    private final int rows;
+    private final int cols;
+    // per row-major cell, guarded by this: the tile scaled to the size it was
+    // requested at, whether a load is running and whether the tile failed
+    private final Image[] images;
+    private final int[] imageWidths;
+    private final int[] imageHeights;
+    private final boolean[] loading;
+    private final boolean[] failed;
+    private Image noTileImage;
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualMissionImage.class);
+
+    /**
+     * @param entries tile entries indexed [row][col], null or empty entries
+     *                leave the cell blank
+     */
+    public VirtualMissionImage(MissionTileEntry[][] entries) {
+        if (entries == null || entries.length == 0 || entries[0].length == 0) {
+            throw new IllegalArgumentException("A mission image needs at least one cell");
+        }
+        this.entries = entries;
+        this.rows = entries.length;
+        this.cols = entries[0].length;
+        this.images = new Image[rows * cols];
+        this.imageWidths = new int[rows * cols];
+        this.imageHeights = new int[rows * cols];
+        this.loading = new boolean[rows * cols];
+        this.failed = new boolean[rows * cols];
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Draws the board scaled into the rectangle without blocking on tile
+     * loads. Cells whose tile is not ready at this size are drawn with their
+     * previous image or a placeholder and loaded in the background; the
+     * observer, if any, gets an ALLBITS update when each of them is ready.
+     */
+    public void draw(Graphics2D g, int x, int y, int width, int height, ImageObserver observer) {
+        Rectangle clip = g.getClipBounds();
+        for (int row = 0; row < rows; row++) {
+            int top = y + (int) ((long) row * height / rows);
+            int bottom = y + (int) ((long) (row + 1) * height / rows);
+            for (int col = 0; col < cols; col++) {
+                int left = x + (int) ((long) col * width / cols);
+                int right = x + (int) ((long) (col + 1) * width / cols);
+                int cell = row * cols + col;
+                if (clip != null && !clip.intersects(left, top, right - left, bottom - top)) {
+                    releaseStale(cell, right - left, bottom - top);
+                    continue;
+                }
+                drawCell(g, cell, left, top, right - left, bottom - top, observer);
+            }
+        }
+    }
+
+    private void drawCell(Graphics2D g, int cell, int x, int y, int width, int height, ImageObserver observer) {
+        MissionTileEntry entry = entries[cell / cols][cell % cols];
+        if (entry == null || entry.isNull() || entry.getImagePath() == null || width <= 0 || height <= 0) {
+            return;
+        }
+        Image image;
+        boolean cellFailed;
+        synchronized (this) {
+            cellFailed = failed[cell];
+            image = cellFailed ? noTileImage : images[cell];
+            boolean current = images[cell] != null && imageWidths[cell] == width && imageHeights[cell] == height;
+            if (!current && !loading[cell] && !failed[cell]) {
+                loading[cell] = true;
+                MissionFactoryService.submitTileTask(() -> load(cell, entry, width, height, observer));
+            }
+        }
+        if (image != null) {
+            g.drawImage(image, x, y, width, height, null);
+        } else if (!cellFailed) {
+            Color color = g.getColor();
+            g.setColor(PLACEHOLDER);
+            g.fillRect(x, y, width, height);
+            g.setColor(color);
+        }
+    }
+
+    /**
+     * Drops the image of a cell out of the clip when it no longer has the
+     * size the cell is drawn at.
+     */
+    private synchronized void releaseStale(int cell, int width, int height) {
+        if (images[cell] != null && (imageWidths[cell] != width || imageHeights[cell] != height)) {
+            images[cell] = null;
+        }
+    }
+
+    /**
+     * Runs on the tile decoder pool.
+     */
+    private Void load(int cell, MissionTileEntry entry, int width, int height, ImageObserver observer) {
+        Image image = null;
+        try {
+            image = scale(TileImageCache.getInstance().get(entry.getImagePath(), entry.getRotation()), width, height);
+        } catch (Exception e) {
+            logger.error("Error loading tile image for tile {} at row {} col {}", entry.getTileName(), cell / cols,
+                    cell % cols, e);
+        }
+        Image noTile = image == null ? ConfigLoader.getInstance().getNoTileYetImage() : null;
+        synchronized (this) {
+            loading[cell] = false;
+            if (image != null) {
+                images[cell] = image;
+                imageWidths[cell] = width;
+                imageHeights[cell] = height;
+            } else {
+                failed[cell] = true;
+                if (noTileImage == null) {
+                    noTileImage = noTile;
+                }
+            }
+        }
+        if (observer != null) {
+            int flags = image != null ? ImageObserver.ALLBITS : ImageObserver.ALLBITS | ImageObserver.ERROR;
+            observer.imageUpdate(image != null ? image : noTile, flags, 0, 0, width, height);
+        }
+        return null;
+    }
+
+    /**
+     * Scales the tile down to the cell, halving it first while it is more
+     * than twice the size so the bilinear pass does not skip pixels. A tile
+     * smaller than the cell is kept as is and scaled up when drawn.
+     */
+    static Image scale(BufferedImage tile, int width, int height) {
+        if (tile.getWidth() <= width && tile.getHeight() <= height) {
+            return tile;
+        }
+        BufferedImage scaled = tile;
+        int w = tile.getWidth();
+        int h = tile.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage step = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = step.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(scaled, 0, 0, w, h, null);
+            g2d.dispose();
+            scaled = step;
+        } while (w > width || h > height);
+        return scaled;
+    }
+
+    /**
+     * Composes the whole board at the resolution of its tiles. The image is
+     * not kept, every call composes a new one.
+     */
+    public BufferedImage toBufferedImage() {
+        return MissionFactoryService.composeMissionImage(entries);
+    }
+}
@@ -0,0 +1,132 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zombicide.missiongen.model.board.MissionGrid;
+
+/**
+ * Generation entry point with a wall-clock budget. It enumerates valid
+ * layouts in a seeded random order (every cell tries its candidates
+ * shuffled), scores each one with a {@link LayoutFitness} and keeps the best.
+ * The clock is read every few hundred nodes, so the search returns the best
+ * layout so far shortly after the deadline even in the middle of a huge
+ * tree, or earlier if the whole tree has been searched.
+ */
+public class AnytimeLayoutGenerator {
+
+    private final TilePool pool;
+    private final int width;
+    private final int height;
+    private final LayoutFitness fitness;
+    private final boolean[] required;
+    private final boolean[] excluded;
+
+    private static final Logger logger = LoggerFactory.getLogger(AnytimeLayoutGenerator.class);
+
+    public AnytimeLayoutGenerator(TilePool pool, int width, int height, LayoutFitness fitness) {
+        this(pool, width, height, fitness, Collections.emptySet(), Collections.emptySet());
+    }
+
+    /**
+     * @param requiredTiles tile ids that must appear in every layout
+     * @param excludedTiles tile ids that must never appear
+     */
+    public AnytimeLayoutGenerator(TilePool pool, int width, int height, LayoutFitness fitness,
+            Collection<String> requiredTiles, Collection<String> excludedTiles) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+        }
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        this.fitness = fitness;
+        this.required = RandomizedSearch.toTileMask(pool, requiredTiles);
+        this.excluded = RandomizedSearch.toTileMask(pool, excludedTiles);
+        RandomizedSearch.checkDisjoint(pool, required, excluded);
+    }
+
+    /**
+     * Searches until the budget is spent or every layout has been scored.
+     */
+    public Result generate(Duration budget, long seed) {
+        Search search = new Search(System.nanoTime() + budget.toNanos(), new Random(seed));
+        long start = System.nanoTime();
+        if (pool.canFill(width * height)) {
+            search.search(0);
+        }
+        MissionGrid best = search.bestTiles == null ? null
+                : pool.toMissionGrid(width, height, search.bestTiles, search.bestRotations);
+        Result result = new Result(best, search.bestScore, search.getNodes(), search.evaluated, !search.timedOut,
+                (System.nanoTime() - start) / 1_000_000);
+        logger.info("Anytime generation {}x{}: {} nodes, {} layouts evaluated, best score {}, {} in {} ms", width,
+                height, result.nodesExplored, result.layoutsEvaluated, result.bestScore,
+                result.exhausted ? "exhausted" : "deadline reached", result.elapsedMillis);
+        return result;
+    }
+
+    private class Search extends RandomizedSearch {
+
+        private final long deadline;
+
+        private long evaluated;
+        private boolean timedOut;
+        private int[] bestTiles;
+        private int[] bestRotations;
+        private double bestScore = Double.NEGATIVE_INFINITY;
+
+        Search(long deadline, Random random) {
+            super(pool, width, height, random, required, excluded);
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected boolean onLayout() {
+            evaluated++;
+            double score = fitness.evaluate(state.tiles, state.rotations);
+            if (bestTiles == null || score > bestScore) {
+                bestScore = score;
+                bestTiles = state.tiles.clone();
+                bestRotations = state.rotations.clone();
+            }
+            // a slow fitness could overrun the deadline between two node checks
+            return shouldStop();
+        }
+
+        @Override
+        protected boolean shouldStop() {
+            if (!timedOut && System.nanoTime() - deadline >= 0) {
+                timedOut = true;
+            }
+            return timedOut;
+        }
+    }
+
+    /**
+     * Best layout found, null if none, with the statistics of the search.
+     */
+    public static class Result {
+        public final MissionGrid bestLayout;
+        public final double bestScore;
+        public final long nodesExplored;
+        public final long layoutsEvaluated;
+        /** True if every layout was scored before the deadline. */
+        public final boolean exhausted;
+        public final long elapsedMillis;
+
+        Result(MissionGrid bestLayout, double bestScore, long nodesExplored, long layoutsEvaluated, boolean exhausted,
+                long elapsedMillis) {
+            this.bestLayout = bestLayout;
+            this.bestScore = bestScore;
+            this.nodesExplored = nodesExplored;
+            this.layoutsEvaluated = layoutsEvaluated;
+            this.exhausted = exhausted;
+            this.elapsedMillis = elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.zombicide.missiongen.model.board.MissionGrid;
+import com.zombicide.missiongen.model.board.MissionTileEntry;
+
+/**
+ * Layout normalised over the four whole-board rotations. Turning the whole
+ * grid a quarter turn clockwise moves every tile to the rotated cell and adds
+ * a quarter turn to its own rotation; the canonical form is the smallest of
+ * the four results, so every orientation of a mission has the same form and
+ * the same 128-bit hash.
+ * Mirror images are not included: a mirrored tile face is not a real tile, so
+ * a reflected layout is a different mission.
+ * Tiles are identified by a 64-bit hash of their id, which makes the form
+ * independent of the pool or collection the layout came from.
+ */
+public final class CanonicalLayout {
+
+    private static final long EMPTY = 0L;
+
+    private final int width;
+    private final int height;
+    // row-major, EMPTY for an empty cell
+    private final long[] tileKeys;
+    // quarter turns clockwise, 0 for an empty cell
+    private final int[] rotations;
+    private final long hashHigh;
+    private final long hashLow;
+
+    private CanonicalLayout(int width, int height, long[] tileKeys, int[] rotations) {
+        this.width = width;
+        this.height = height;
+        this.tileKeys = tileKeys;
+        this.rotations = rotations;
+        long high = mix(0x9E3779B97F4A7C15L ^ width, height);
+        long low = mix(0xC2B2AE3D27D4EB4FL ^ height, width);
+        for (int cell = 0; cell < tileKeys.length; cell++) {
+            high = mix(high, tileKeys[cell] * 4 + rotations[cell]);
+            low = mix(low, Long.rotateLeft(tileKeys[cell], 29) ^ rotations[cell]);
+        }
+        this.hashHigh = high;
+        this.hashLow = low;
+    }
+
+    /**
+     * Canonical form of a layout given as tile keys and quarter turns per cell.
+     */
+    public static CanonicalLayout of(int width, int height, long[] tileKeys, int[] rotations) {
+        if (tileKeys.length != width * height || rotations.length != width * height) {
+            throw new IllegalArgumentException("Layout arrays do not match a " + width + "x" + height + " grid");
+        }
+        int[] normalised = new int[rotations.length];
+        for (int cell = 0; cell < rotations.length; cell++) {
+            normalised[cell] = tileKeys[cell] == EMPTY ? 0 : Math.floorMod(rotations[cell], TilePool.ROTATIONS);
+        }
+        CanonicalLayout best = new CanonicalLayout(width, height, tileKeys.clone(), normalised);
+        CanonicalLayout current = best;
+        for (int turn = 1; turn < TilePool.ROTATIONS; turn++) {
+            current = current.turnClockwise();
+            if (current.compareTo(best) < 0) {
+                best = current;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Canonical form of a solver placement; a negative tile leaves the cell empty.
+     */
+    public static CanonicalLayout of(TilePool pool, int width, int height, int[] tiles, int[] rotations) {
+        long[] tileKeys = new long[tiles.length];
+        int[] turns = new int[tiles.length];
+        for (int cell = 0; cell < tiles.length; cell++) {
+            if (tiles[cell] >= 0) {
+                tileKeys[cell] = tileKey(pool.getTileId(tiles[cell]));
+                turns[cell] = pool.getBoard(tiles[cell]).getRotation() / 90 + rotations[cell];
+            }
+        }
+        return of(width, height, tileKeys, turns);
+    }
+
+    /**
+     * Canonical form of stored mission entries, indexed [row][col] with
+     * rotations in degrees.
+     */
+    public static CanonicalLayout of(MissionTileEntry[][] entries) {
+        int height = entries.length;
+        int width = height == 0 ? 0 : entries[0].length;
+        long[] tileKeys = new long[width * height];
+        int[] turns = new int[width * height];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                MissionTileEntry entry = entries[row][col];
+                if (entry != null && !entry.isNull()) {
+                    tileKeys[row * width + col] = tileKey(entry.getTileName());
+                    turns[row * width + col] = entry.getRotation() / 90;
+                }
+            }
+        }
+        return of(width, height, tileKeys, turns);
+    }
+
+    public static CanonicalLayout of(MissionGrid grid) {
+        return of(grid.toMissionTileEntries());
+    }
+
+    /**
+     * 64-bit FNV-1a hash of a tile id, never equal to the empty-cell key.
+     */
+    public static long tileKey(String tileId) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : tileId.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash == EMPTY ? 1L : hash;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public long getTileKey(int col, int row) {
+        return tileKeys[row * width + col];
+    }
+
+    public int getRotation(int col, int row) {
+        return rotations[row * width + col];
+    }
+
+    /**
+     * 64-bit layout hash, the high half of {@link #getHash128()}.
+     */
+    public long getHash() {
+        return hashHigh;
+    }
+
+    public long[] getHash128() {
+        return new long[] { hashHigh, hashLow };
+    }
+
+    private CanonicalLayout turnClockwise() {
+        long[] turnedKeys = new long[tileKeys.length];
+        int[] turnedRotations = new int[rotations.length];
+        // the old row becomes the column counted from the right
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int from = row * width + col;
+                int to = col * height + (height - 1 - row);
+                turnedKeys[to] = tileKeys[from];
+                turnedRotations[to] = tileKeys[from] == EMPTY ? 0 : (rotations[from] + 1) % TilePool.ROTATIONS;
+            }
+        }
+        return new CanonicalLayout(height, width, turnedKeys, turnedRotations);
+    }
+
+    private int compareTo(CanonicalLayout other) {
+        if (width != other.width) {
+            return Integer.compare(width, other.width);
+        }
+        for (int cell = 0; cell < tileKeys.length; cell++) {
+            if (tileKeys[cell] != other.tileKeys[cell]) {
+                return Long.compareUnsigned(tileKeys[cell], other.tileKeys[cell]);
+            }
+            if (rotations[cell] != other.rotations[cell]) {
+                return Integer.compare(rotations[cell], other.rotations[cell]);
+            }
+        }
+        return 0;
+    }
+
+    private static long mix(long hash, long value) {
+        long z = hash ^ (value + 0x9E3779B97F4A7C15L + (hash << 6) + (hash >>> 2));
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CanonicalLayout)) {
+            return false;
+        }
+        CanonicalLayout layout = (CanonicalLayout) other;
+        return hashHigh == layout.hashHigh && hashLow == layout.hashLow && width == layout.width
+                && height == layout.height && Arrays.equals(tileKeys, layout.tileKeys)
+                && Arrays.equals(rotations, layout.rotations);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hashHigh);
+    }
+}
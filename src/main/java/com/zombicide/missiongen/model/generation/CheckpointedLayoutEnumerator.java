@@ -0,0 +1,146 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zombicide.missiongen.DTO.EnumerationCheckpointDTO;
+
+/**
+ * Sequential layout enumeration that can be stopped and resumed.
+ * The search tree is cut into the subtrees below every valid assignment of
+ * the first prefixDepth cells ({@link SearchPrefixes}), searched in the same
+ * order as {@link LayoutSolver}. The prefixes still to search and the number
+ * of layouts delivered by the completed ones are written to a JSON checkpoint
+ * at most every checkpoint interval, through a temporary file moved over the
+ * old one.
+ * Enumerating again with the same checkpoint file continues from the first
+ * unfinished prefix, so the layouts delivered over all runs are exactly those
+ * of a single uninterrupted run, except that the layouts of a prefix that was
+ * cut short are delivered again. Consumers that keep results, like
+ * {@link MappedLayoutStore#truncate(long)}, should drop everything after
+ * {@link #getDelivered()} before resuming.
+ */
+public class CheckpointedLayoutEnumerator {
+
+    private static final int DEFAULT_PREFIX_DEPTH = 2;
+    private static final long DEFAULT_CHECKPOINT_INTERVAL_MILLIS = 30_000;
+
+    private final TilePool pool;
+    private final int width;
+    private final int height;
+    private final Path checkpointPath;
+    private final int prefixDepth;
+    private final long checkpointIntervalMillis;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Deque<int[]> remaining;
+    private long delivered;
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckpointedLayoutEnumerator.class);
+
+    public CheckpointedLayoutEnumerator(TilePool pool, int width, int height, Path checkpointPath) throws IOException {
+        this(pool, width, height, checkpointPath, DEFAULT_PREFIX_DEPTH, DEFAULT_CHECKPOINT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Loads the checkpoint at checkpointPath if there is one, otherwise starts
+     * a new enumeration.
+     */
+    public CheckpointedLayoutEnumerator(TilePool pool, int width, int height, Path checkpointPath, int prefixDepth,
+            long checkpointIntervalMillis) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+        }
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        this.checkpointPath = checkpointPath;
+        this.prefixDepth = Math.max(1, Math.min(prefixDepth, width * height));
+        this.checkpointIntervalMillis = checkpointIntervalMillis;
+        if (Files.exists(checkpointPath)) {
+            loadCheckpoint();
+        } else {
+            this.remaining = new ArrayDeque<>(SearchPrefixes.create(pool, width, height, this.prefixDepth));
+            this.delivered = 0;
+        }
+    }
+
+    /**
+     * Layouts delivered by the completed prefixes, over all runs.
+     */
+    public long getDelivered() {
+        return delivered;
+    }
+
+    public int getRemainingPrefixes() {
+        return remaining.size();
+    }
+
+    public boolean isComplete() {
+        return remaining.isEmpty();
+    }
+
+    /**
+     * Searches the remaining prefixes until all are done or the listener
+     * returns false, checkpointing along the way and on return.
+     *
+     * @return layouts delivered by the completed prefixes, over all runs
+     */
+    public long enumerate(LayoutListener listener) throws IOException {
+        long lastCheckpoint = System.currentTimeMillis();
+        boolean stopped = false;
+        while (!remaining.isEmpty()) {
+            long[] found = new long[1];
+            if (!SearchPrefixes.search(pool, width, height, remaining.peekFirst(), listener, found)) {
+                stopped = true;
+                break;
+            }
+            remaining.pollFirst();
+            delivered += found[0];
+            if (System.currentTimeMillis() - lastCheckpoint >= checkpointIntervalMillis) {
+                writeCheckpoint();
+                lastCheckpoint = System.currentTimeMillis();
+            }
+        }
+        writeCheckpoint();
+        logger.info("Layout enumeration {}x{} {}: {} layouts delivered, {} prefixes remaining", width, height,
+                stopped ? "stopped" : "finished", delivered, remaining.size());
+        return delivered;
+    }
+
+    private void loadCheckpoint() throws IOException {
+        EnumerationCheckpointDTO checkpoint = objectMapper.readValue(checkpointPath.toFile(),
+                EnumerationCheckpointDTO.class);
+        if (checkpoint.width != width || checkpoint.height != height || checkpoint.prefixDepth != prefixDepth
+                || !checkpoint.tileIds.equals(pool.getTileIds())) {
+            throw new IOException("Checkpoint " + checkpointPath + " belongs to another enumeration");
+        }
+        this.remaining = new ArrayDeque<>(checkpoint.prefixes);
+        this.delivered = checkpoint.delivered;
+        logger.info("Resuming layout enumeration from {}: {} layouts delivered, {} prefixes remaining",
+                checkpointPath, delivered, remaining.size());
+    }
+
+    private void writeCheckpoint() throws IOException {
+        EnumerationCheckpointDTO checkpoint = new EnumerationCheckpointDTO();
+        checkpoint.width = width;
+        checkpoint.height = height;
+        checkpoint.prefixDepth = prefixDepth;
+        checkpoint.delivered = delivered;
+        checkpoint.tileIds = pool.getTileIds();
+        checkpoint.prefixes = new ArrayList<>(remaining);
+
+        Path temporary = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+        objectMapper.writeValue(temporary.toFile(), checkpoint);
+        Files.move(temporary, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
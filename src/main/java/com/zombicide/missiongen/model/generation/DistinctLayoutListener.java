@@ -0,0 +1,58 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Forwards only the first layout of every whole-board rotation class to the
+ * wrapped listener. Safe to use from the parallel enumerator as long as the
+ * wrapped listener is.
+ * Every distinct layout is remembered until the listener is dropped, so the
+ * memory used grows with the number of distinct layouts seen. On grids whose
+ * layouts cannot all be held, bound it with maxDistinct: the search is stopped
+ * once that many distinct layouts have been forwarded.
+ */
+public class DistinctLayoutListener implements LayoutListener {
+
+    private final TilePool pool;
+    private final int width;
+    private final int height;
+    private final LayoutListener delegate;
+    private final int maxDistinct;
+    private final Set<CanonicalLayout> seen = ConcurrentHashMap.newKeySet();
+
+    public DistinctLayoutListener(TilePool pool, int width, int height, LayoutListener delegate) {
+        this(pool, width, height, delegate, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxDistinct distinct layouts to forward before the search is
+     *                    stopped; parallel searches may forward a few more
+     *                    before they all see the stop
+     */
+    public DistinctLayoutListener(TilePool pool, int width, int height, LayoutListener delegate, int maxDistinct) {
+        if (maxDistinct <= 0) {
+            throw new IllegalArgumentException("maxDistinct must be positive: " + maxDistinct);
+        }
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        this.delegate = delegate;
+        this.maxDistinct = maxDistinct;
+    }
+
+    @Override
+    public boolean onLayout(int[] tiles, int[] rotations) {
+        if (seen.size() >= maxDistinct) {
+            return false;
+        }
+        if (!seen.add(CanonicalLayout.of(pool, width, height, tiles, rotations))) {
+            return true;
+        }
+        return delegate.onLayout(tiles, rotations) && seen.size() < maxDistinct;
+    }
+
+    public int getDistinctCount() {
+        return seen.size();
+    }
+}
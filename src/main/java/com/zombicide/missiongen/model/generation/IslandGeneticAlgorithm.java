@@ -0,0 +1,331 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zombicide.missiongen.model.board.MissionGrid;
+
+/**
+ * Island-model genetic algorithm over layouts. Every island keeps its own
+ * population of {@link LayoutCodec}-packed genomes and evolves on its own
+ * thread; after each epoch of migrationInterval generations the best
+ * migrants of every island replace the worst genomes of the next island in a
+ * ring. Islands have their own seeded Random and migration happens between
+ * epochs, so a run is reproducible for a given seed.
+ * Genomes never use a pool tile twice: crossover copies a rectangle of one
+ * parent, fills the other cells from the second parent where its tile is
+ * still free and repairs the remaining cells with unused tiles.
+ */
+public class IslandGeneticAlgorithm {
+
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final int ELITES = 2;
+    private static final double MUTATION_RATE = 0.3;
+
+    private final TilePool pool;
+    private final int width;
+    private final int height;
+    private final LayoutFitness fitness;
+    private final LayoutCodec codec;
+    private final int islands;
+    private final int populationSize;
+    private final int migrationInterval;
+    private final int migrants;
+    private final long seed;
+
+    private long[] bestGenome;
+    private double bestFitness = Double.NEGATIVE_INFINITY;
+
+    private static final Logger logger = LoggerFactory.getLogger(IslandGeneticAlgorithm.class);
+
+    public IslandGeneticAlgorithm(TilePool pool, int width, int height, LayoutFitness fitness, long seed) {
+        this(pool, width, height, fitness, seed, Runtime.getRuntime().availableProcessors(), 64, 20, 2);
+    }
+
+    public IslandGeneticAlgorithm(TilePool pool, int width, int height, LayoutFitness fitness, long seed, int islands,
+            int populationSize, int migrationInterval, int migrants) {
+        if (!pool.canFill(width * height)) {
+            throw new IllegalArgumentException("Tile pool has " + pool.getInventory().getPhysicalTiles()
+                    + " physical tiles, not enough for a " + width + "x" + height + " grid");
+        }
+        if (islands <= 0 || populationSize <= ELITES || migrationInterval <= 0 || migrants < 0
+                || migrants >= populationSize) {
+            throw new IllegalArgumentException("Invalid island settings: " + islands + " islands of "
+                    + populationSize + ", " + migrants + " migrants every " + migrationInterval + " generations");
+        }
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        this.fitness = fitness;
+        this.codec = new LayoutCodec(pool, width, height);
+        this.islands = islands;
+        this.populationSize = populationSize;
+        this.migrationInterval = migrationInterval;
+        this.migrants = migrants;
+        this.seed = seed;
+    }
+
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    public MissionGrid getBestLayout() {
+        return bestGenome == null ? null : codec.toMissionGrid(bestGenome, 0);
+    }
+
+    /**
+     * Best placement as {tiles, rotations}, or null before the first run.
+     */
+    public int[][] getBestPlacement() {
+        if (bestGenome == null) {
+            return null;
+        }
+        int[] tiles = new int[width * height];
+        int[] rotations = new int[tiles.length];
+        codec.decode(bestGenome, 0, tiles, rotations);
+        return new int[][] { tiles, rotations };
+    }
+
+    /**
+     * Evolves new populations for the given number of epochs, or until a
+     * genome reaches targetFitness.
+     *
+     * @return the best fitness found
+     */
+    public double run(int epochs, double targetFitness) {
+        List<Island> population = new ArrayList<>();
+        for (int i = 0; i < islands; i++) {
+            population.add(new Island(seed + 0x9E3779B97F4A7C15L * (i + 1)));
+        }
+        bestGenome = null;
+        bestFitness = Double.NEGATIVE_INFINITY;
+        ExecutorService executor = Executors.newFixedThreadPool(islands);
+        try {
+            for (int epoch = 0; epoch < epochs && bestFitness < targetFitness; epoch++) {
+                List<Future<Void>> futures = new ArrayList<>();
+                for (Island island : population) {
+                    futures.add(executor.submit((Callable<Void>) () -> {
+                        island.evolve(migrationInterval, targetFitness);
+                        return null;
+                    }));
+                }
+                for (Future<Void> future : futures) {
+                    future.get();
+                }
+                for (Island island : population) {
+                    if (island.fitness[0] > bestFitness) {
+                        bestFitness = island.fitness[0];
+                        bestGenome = island.genomes[0].clone();
+                    }
+                }
+                migrate(population);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Island evolution failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        logger.info("Genetic search {}x{} on {} islands reached fitness {}", width, height, islands, bestFitness);
+        return bestFitness;
+    }
+
+    /**
+     * Ring migration: the best genomes of island i replace the worst of i + 1.
+     * Populations are kept sorted best first.
+     */
+    private void migrate(List<Island> population) {
+        if (islands < 2 || migrants == 0) {
+            return;
+        }
+        List<long[][]> outgoing = new ArrayList<>();
+        List<double[]> outgoingFitness = new ArrayList<>();
+        for (Island island : population) {
+            outgoing.add(Arrays.copyOf(island.genomes, migrants));
+            outgoingFitness.add(Arrays.copyOf(island.fitness, migrants));
+        }
+        for (int i = 0; i < islands; i++) {
+            Island target = population.get((i + 1) % islands);
+            for (int m = 0; m < migrants; m++) {
+                target.genomes[populationSize - 1 - m] = outgoing.get(i)[m].clone();
+                target.fitness[populationSize - 1 - m] = outgoingFitness.get(i)[m];
+            }
+            target.sort();
+        }
+    }
+
+    private class Island {
+
+        private final Random random;
+        private long[][] genomes = new long[populationSize][];
+        private double[] fitness = new double[populationSize];
+
+        // scratch placements reused by the operators
+        private final int cells = width * height;
+        private final int[] tilesA = new int[cells];
+        private final int[] rotationsA = new int[cells];
+        private final int[] tilesB = new int[cells];
+        private final int[] rotationsB = new int[cells];
+        private final int[] childTiles = new int[cells];
+        private final int[] childRotations = new int[cells];
+        private final TileInventory inventory = pool.getInventory();
+        // by physical tile, so both faces of a tile are never on one child
+        private final boolean[] used = new boolean[inventory.getPhysicalTiles()];
+
+        Island(long islandSeed) {
+            this.random = new Random(islandSeed);
+            for (int i = 0; i < populationSize; i++) {
+                randomPlacement(childTiles, childRotations);
+                genomes[i] = codec.encode(childTiles, childRotations);
+                fitness[i] = fitness(childTiles, childRotations);
+            }
+            sort();
+        }
+
+        void evolve(int generations, double targetFitness) {
+            for (int generation = 0; generation < generations && fitness[0] < targetFitness; generation++) {
+                long[][] nextGenomes = new long[populationSize][];
+                double[] nextFitness = new double[populationSize];
+                for (int i = 0; i < ELITES; i++) {
+                    nextGenomes[i] = genomes[i];
+                    nextFitness[i] = fitness[i];
+                }
+                for (int i = ELITES; i < populationSize; i++) {
+                    codec.decode(genomes[tournament()], 0, tilesA, rotationsA);
+                    codec.decode(genomes[tournament()], 0, tilesB, rotationsB);
+                    crossover();
+                    if (random.nextDouble() < MUTATION_RATE) {
+                        mutate();
+                    }
+                    nextGenomes[i] = codec.encode(childTiles, childRotations);
+                    nextFitness[i] = fitness(childTiles, childRotations);
+                }
+                genomes = nextGenomes;
+                fitness = nextFitness;
+                sort();
+            }
+        }
+
+        private double fitness(int[] tiles, int[] rotations) {
+            return IslandGeneticAlgorithm.this.fitness.evaluate(tiles, rotations);
+        }
+
+        private int tournament() {
+            int best = random.nextInt(populationSize);
+            for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+                int candidate = random.nextInt(populationSize);
+                if (fitness[candidate] > fitness[best]) {
+                    best = candidate;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Rectangle of parent A, then parent B where its tile is free, then
+         * unused tiles for the cells left.
+         */
+        private void crossover() {
+            Arrays.fill(used, false);
+            Arrays.fill(childTiles, -1);
+            int col0 = random.nextInt(width);
+            int col1 = col0 + random.nextInt(width - col0);
+            int row0 = random.nextInt(height);
+            int row1 = row0 + random.nextInt(height - row0);
+            for (int row = row0; row <= row1; row++) {
+                for (int col = col0; col <= col1; col++) {
+                    int cell = row * width + col;
+                    childTiles[cell] = tilesA[cell];
+                    childRotations[cell] = rotationsA[cell];
+                    used[inventory.getPhysicalTile(tilesA[cell])] = true;
+                }
+            }
+            for (int cell = 0; cell < cells; cell++) {
+                if (childTiles[cell] < 0 && !used[inventory.getPhysicalTile(tilesB[cell])]) {
+                    childTiles[cell] = tilesB[cell];
+                    childRotations[cell] = rotationsB[cell];
+                    used[inventory.getPhysicalTile(tilesB[cell])] = true;
+                }
+            }
+            for (int cell = 0; cell < cells; cell++) {
+                if (childTiles[cell] < 0) {
+                    childTiles[cell] = randomUnusedTile();
+                    childRotations[cell] = random.nextInt(TilePool.ROTATIONS);
+                    used[inventory.getPhysicalTile(childTiles[cell])] = true;
+                }
+            }
+        }
+
+        private void mutate() {
+            int cell = random.nextInt(cells);
+            switch (random.nextInt(3)) {
+                case 0:
+                    childRotations[cell] = random.nextInt(TilePool.ROTATIONS);
+                    break;
+                case 1:
+                    int other = random.nextInt(cells);
+                    int tile = childTiles[cell];
+                    int rotation = childRotations[cell];
+                    childTiles[cell] = childTiles[other];
+                    childRotations[cell] = childRotations[other];
+                    childTiles[other] = tile;
+                    childRotations[other] = rotation;
+                    break;
+                default:
+                    if (inventory.getPhysicalTiles() > cells) {
+                        used[inventory.getPhysicalTile(childTiles[cell])] = false;
+                        childTiles[cell] = randomUnusedTile();
+                        used[inventory.getPhysicalTile(childTiles[cell])] = true;
+                    }
+                    break;
+            }
+        }
+
+        private int randomUnusedTile() {
+            int tile = random.nextInt(pool.size());
+            while (used[inventory.getPhysicalTile(tile)]) {
+                tile = (tile + 1) % pool.size();
+            }
+            return tile;
+        }
+
+        private void randomPlacement(int[] tiles, int[] rotations) {
+            Arrays.fill(used, false);
+            for (int cell = 0; cell < cells; cell++) {
+                tiles[cell] = randomUnusedTile();
+                rotations[cell] = random.nextInt(TilePool.ROTATIONS);
+                used[inventory.getPhysicalTile(tiles[cell])] = true;
+            }
+        }
+
+        /**
+         * Sorts the population by fitness, best first.
+         */
+        void sort() {
+            Integer[] order = new Integer[populationSize];
+            for (int i = 0; i < populationSize; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(fitness[b], fitness[a]));
+            long[][] sortedGenomes = new long[populationSize][];
+            double[] sortedFitness = new double[populationSize];
+            for (int i = 0; i < populationSize; i++) {
+                sortedGenomes[i] = genomes[order[i]];
+                sortedFitness[i] = fitness[order[i]];
+            }
+            genomes = sortedGenomes;
+            fitness = sortedFitness;
+        }
+    }
+}
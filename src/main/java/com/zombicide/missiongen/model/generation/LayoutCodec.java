@@ -0,0 +1,165 @@
+package com.zombicide.missiongen.model.generation;
+
+import com.zombicide.missiongen.model.board.MissionGrid;
+import com.zombicide.missiongen.model.board.MissionTileEntry;
+
+/**
+ * Bit-packed encoding of width x height layouts over a {@link TilePool}.
+ * Every cell takes tileBits + 2 bits, row-major from the lowest bit of the
+ * first word: the tile index plus one (0 for an empty cell) followed by the
+ * rotation in quarter turns. A layout takes {@link #getWords()} longs, e.g. two
+ * longs for a 4x4 grid over a pool of up to 63 tiles.
+ */
+public class LayoutCodec {
+
+    private static final int ROTATION_BITS = 2;
+
+    private final TilePool pool;
+    private final int width;
+    private final int height;
+    private final int tileBits;
+    private final int cellBits;
+    private final long cellMask;
+    private final int words;
+
+    public LayoutCodec(TilePool pool, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+        }
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        this.tileBits = 32 - Integer.numberOfLeadingZeros(pool.size());
+        this.cellBits = tileBits + ROTATION_BITS;
+        this.cellMask = (1L << cellBits) - 1;
+        this.words = (width * height * cellBits + 63) / 64;
+    }
+
+    public TilePool getPool() {
+        return pool;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getCellBits() {
+        return cellBits;
+    }
+
+    /**
+     * Number of longs taken by one encoded layout.
+     */
+    public int getWords() {
+        return words;
+    }
+
+    /**
+     * Packs a row-major placement into target[offset .. offset + words); a
+     * negative tile is an empty cell.
+     */
+    public void encode(int[] tiles, int[] rotations, long[] target, int offset) {
+        for (int word = 0; word < words; word++) {
+            target[offset + word] = 0L;
+        }
+        for (int cell = 0; cell < width * height; cell++) {
+            long value = 0L;
+            if (tiles[cell] >= 0) {
+                value = ((long) (tiles[cell] + 1) << ROTATION_BITS) | (rotations[cell] & 3);
+            }
+            int bit = cell * cellBits;
+            int word = offset + (bit >>> 6);
+            int shift = bit & 63;
+            target[word] |= value << shift;
+            if (shift + cellBits > 64) {
+                target[word + 1] |= value >>> (64 - shift);
+            }
+        }
+    }
+
+    public long[] encode(int[] tiles, int[] rotations) {
+        long[] packed = new long[words];
+        encode(tiles, rotations, packed, 0);
+        return packed;
+    }
+
+    /**
+     * Unpacks a layout into the row-major tiles and rotations arrays, -1 for
+     * an empty cell.
+     */
+    public void decode(long[] source, int offset, int[] tiles, int[] rotations) {
+        for (int cell = 0; cell < width * height; cell++) {
+            int bit = cell * cellBits;
+            int word = offset + (bit >>> 6);
+            int shift = bit & 63;
+            long value = source[word] >>> shift;
+            if (shift + cellBits > 64) {
+                value |= source[word + 1] << (64 - shift);
+            }
+            value &= cellMask;
+            tiles[cell] = (int) (value >>> ROTATION_BITS) - 1;
+            rotations[cell] = tiles[cell] < 0 ? 0 : (int) (value & 3);
+        }
+    }
+
+    public MissionGrid toMissionGrid(long[] source, int offset) {
+        int[] tiles = new int[width * height];
+        int[] rotations = new int[width * height];
+        decode(source, offset, tiles, rotations);
+        return pool.toMissionGrid(width, height, tiles, rotations);
+    }
+
+    public MissionTileEntry[][] toMissionTileEntries(long[] source, int offset) {
+        int[] tiles = new int[width * height];
+        int[] rotations = new int[width * height];
+        decode(source, offset, tiles, rotations);
+        MissionTileEntry[][] entries = new MissionTileEntry[height][width];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int cell = row * width + col;
+                if (tiles[cell] >= 0) {
+                    int degrees = (pool.getBoard(tiles[cell]).getRotation() + rotations[cell] * 90) % 360;
+                    entries[row][col] = new MissionTileEntry(pool.getTileId(tiles[cell]),
+                            pool.getBoard(tiles[cell]).getImagePath(), degrees, row, col);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Packs stored mission entries, indexed [row][col] with rotations in degrees.
+     */
+    public long[] encode(MissionTileEntry[][] entries) {
+        int[] tiles = new int[width * height];
+        int[] rotations = new int[width * height];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int cell = row * width + col;
+                MissionTileEntry entry = entries[row][col];
+                tiles[cell] = -1;
+                if (entry != null && !entry.isNull()) {
+                    tiles[cell] = pool.indexOf(entry.getTileName());
+                    if (tiles[cell] < 0) {
+                        throw new IllegalArgumentException("Tile not in pool: " + entry.getTileName());
+                    }
+                    int turns = (entry.getRotation() - pool.getBoard(tiles[cell]).getRotation()) / 90;
+                    rotations[cell] = Math.floorMod(turns, TilePool.ROTATIONS);
+                }
+            }
+        }
+        return encode(tiles, rotations);
+    }
+
+    public long[] encode(MissionGrid grid) {
+        if (grid.getGridWidth() != width || grid.getGridHeight() != height) {
+            throw new IllegalArgumentException("Grid is " + grid.getGridWidth() + "x" + grid.getGridHeight()
+                    + ", codec is " + width + "x" + height);
+        }
+        return encode(grid.toMissionTileEntries());
+    }
+}
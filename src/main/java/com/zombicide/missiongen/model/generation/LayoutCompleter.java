@@ -0,0 +1,264 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zombicide.missiongen.model.areas.Direction;
+import com.zombicide.missiongen.model.board.MissionGrid;
+import com.zombicide.missiongen.model.board.TileBoard;
+import com.zombicide.missiongen.model.helpers.TileOperations;
+
+/**
+ * Fills the empty cells of a partially placed layout with pool tiles. The
+ * placed cells are fixed: their physical tiles are taken out of the pool and
+ * the candidates of every empty cell are restricted up front by its fixed
+ * neighbours in all eight directions, so the row-major search only has to
+ * check the cells it places itself. Candidates are tried in a seeded random
+ * order so repeated calls give different completions.
+ * The search stops at the first complete layout, at the deadline, or when the
+ * calling thread is interrupted; the clock and the interrupt flag are read
+ * every few hundred nodes.
+ */
+public class LayoutCompleter {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final TilePool pool;
+    private final int width;
+    private final int height;
+    // -1 for empty cells
+    private final int[] fixedTiles;
+    private final int[] fixedRotations;
+
+    private static final Logger logger = LoggerFactory.getLogger(LayoutCompleter.class);
+
+    /**
+     * Takes the boards already on the grid as fixed cells.
+     *
+     * @throws IllegalArgumentException if a placed board is not in the pool
+     */
+    public LayoutCompleter(TilePool pool, MissionGrid grid) {
+        this(pool, new PlacedTiles(grid));
+    }
+
+    /**
+     * Takes the placed boards of a snapshot as fixed cells.
+     *
+     * @throws IllegalArgumentException if a placed board is not in the pool
+     */
+    public LayoutCompleter(TilePool pool, PlacedTiles placed) {
+        this(pool, placed.width, placed.height, new int[placed.boardIds.length], new int[placed.boardIds.length]);
+        for (int cell = 0; cell < placed.boardIds.length; cell++) {
+            String boardId = placed.boardIds[cell];
+            if (boardId == null) {
+                fixedTiles[cell] = -1;
+                continue;
+            }
+            int tile = pool.indexOf(boardId);
+            if (tile < 0) {
+                throw new IllegalArgumentException("Tile not in pool: " + boardId);
+            }
+            fixedTiles[cell] = tile;
+            fixedRotations[cell] = Math.floorMod(placed.rotations[cell] - pool.getBoard(tile).getRotation(), 360) / 90;
+        }
+    }
+
+    /**
+     * @param fixedTiles     pool tile per row-major cell, -1 for empty cells
+     * @param fixedRotations quarter turns of the fixed cells
+     */
+    public LayoutCompleter(TilePool pool, int width, int height, int[] fixedTiles, int[] fixedRotations) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+        }
+        if (fixedTiles.length != width * height || fixedRotations.length != width * height) {
+            throw new IllegalArgumentException("Expected " + width * height + " cells, got " + fixedTiles.length);
+        }
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        this.fixedTiles = fixedTiles;
+        this.fixedRotations = fixedRotations;
+    }
+
+    public int getEmptyCells() {
+        int empty = 0;
+        for (int tile : fixedTiles) {
+            empty += tile < 0 ? 1 : 0;
+        }
+        return empty;
+    }
+
+    /**
+     * Searches for a completion of the fixed cells.
+     */
+    public Result complete(Duration budget, long seed) {
+        long start = System.nanoTime();
+        Search search = new Search(start + budget.toNanos(), new Random(seed));
+        if (search.prepare()) {
+            search.search(0);
+        }
+        Result result = new Result(search.tiles, search.rotations, search.timedOut, search.interrupted,
+                search.getNodes(), (System.nanoTime() - start) / 1_000_000);
+        logger.info("Completion of {}x{} with {} empty cells {} after {} nodes in {} ms", width, height,
+                getEmptyCells(), result.isComplete() ? "found" : "not found", result.nodesExplored,
+                result.elapsedMillis);
+        return result;
+    }
+
+    private class Search extends RandomizedSearch {
+
+        private final long deadline;
+        private final TileCompatibilityTable table = pool.getCompatibilityTable();
+        // states each empty cell allows given its fixed neighbours
+        private final long[][] allowed = new long[width * height][];
+
+        private boolean timedOut;
+        private boolean interrupted;
+        private int[] tiles;
+        private int[] rotations;
+
+        Search(long deadline, Random random) {
+            super(pool, width, height, random, null, null);
+            this.deadline = deadline;
+        }
+
+        /**
+         * Takes the fixed tiles out of the pool and restricts the empty cells.
+         *
+         * @return false if the fixed cells already break a rule
+         */
+        boolean prepare() {
+            TileInventory inventory = pool.getInventory();
+            boolean[] usedPhysical = new boolean[inventory.getPhysicalTiles()];
+            for (int cell = 0; cell < fixedTiles.length; cell++) {
+                allowed[cell] = new long[table.getWords()];
+                Arrays.fill(allowed[cell], -1L);
+            }
+            for (int cell = 0; cell < fixedTiles.length; cell++) {
+                if (fixedTiles[cell] < 0) {
+                    continue;
+                }
+                int physical = inventory.getPhysicalTile(fixedTiles[cell]);
+                if (usedPhysical[physical]) {
+                    logger.info("Tile {} is placed twice", pool.getTileId(fixedTiles[cell]));
+                    return false;
+                }
+                usedPhysical[physical] = true;
+                for (int face : inventory.getFaces(physical)) {
+                    state.exclude(face);
+                }
+                int fixedState = TileCompatibilityTable.state(fixedTiles[cell], fixedRotations[cell]);
+                for (Direction direction : DIRECTIONS) {
+                    int[] offset = TileOperations.getDirectionOffset(cell % width, cell / width, direction);
+                    if (offset[0] < 0 || offset[1] < 0 || offset[0] >= width || offset[1] >= height) {
+                        continue;
+                    }
+                    int neighbour = offset[1] * width + offset[0];
+                    long[] compatible = table.getCompatible(fixedState, direction);
+                    if (fixedTiles[neighbour] >= 0) {
+                        int neighbourState = TileCompatibilityTable.state(fixedTiles[neighbour],
+                                fixedRotations[neighbour]);
+                        if ((compatible[neighbourState >>> 6] & (1L << neighbourState)) == 0) {
+                            logger.info("Placed tiles at cells {} and {} do not match", cell, neighbour);
+                            return false;
+                        }
+                    } else {
+                        for (int word = 0; word < compatible.length; word++) {
+                            allowed[neighbour][word] &= compatible[word];
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        protected boolean onLayout() {
+            tiles = state.tiles.clone();
+            rotations = state.rotations.clone();
+            return true;
+        }
+
+        @Override
+        protected int fixedState(int cell) {
+            return fixedTiles[cell] < 0 ? -1 : TileCompatibilityTable.state(fixedTiles[cell], fixedRotations[cell]);
+        }
+
+        @Override
+        protected long[] allowedStates(int cell) {
+            return allowed[cell];
+        }
+
+        @Override
+        protected boolean shouldStop() {
+            if (Thread.currentThread().isInterrupted()) {
+                interrupted = true;
+            } else if (System.nanoTime() - deadline >= 0) {
+                timedOut = true;
+            }
+            return interrupted || timedOut;
+        }
+    }
+
+    /**
+     * The boards placed on a grid, copied when created so a search on another
+     * thread never reads the grid while it is being edited.
+     */
+    public static class PlacedTiles {
+        private final int width;
+        private final int height;
+        // board id per row-major cell, null for empty cells
+        private final String[] boardIds;
+        // rotation in degrees of the placed boards
+        private final int[] rotations;
+
+        public PlacedTiles(MissionGrid grid) {
+            this.width = grid.getGridWidth();
+            this.height = grid.getGridHeight();
+            this.boardIds = new String[width * height];
+            this.rotations = new int[width * height];
+            for (int row = 0; row < height; row++) {
+                for (int col = 0; col < width; col++) {
+                    TileBoard board = grid.getBoard(col, row);
+                    if (board != null) {
+                        boardIds[row * width + col] = board.getBoardId();
+                        rotations[row * width + col] = board.getRotation();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Completed layout, or null arrays if none was found, with the statistics
+     * of the search.
+     */
+    public static class Result {
+        /** Pool tile per row-major cell, fixed cells included; null if none. */
+        public final int[] tiles;
+        public final int[] rotations;
+        public final boolean timedOut;
+        public final boolean interrupted;
+        public final long nodesExplored;
+        public final long elapsedMillis;
+
+        Result(int[] tiles, int[] rotations, boolean timedOut, boolean interrupted, long nodesExplored,
+                long elapsedMillis) {
+            this.tiles = tiles;
+            this.rotations = rotations;
+            this.timedOut = timedOut;
+            this.interrupted = interrupted;
+            this.nodesExplored = nodesExplored;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public boolean isComplete() {
+            return tiles != null;
+        }
+    }
+}
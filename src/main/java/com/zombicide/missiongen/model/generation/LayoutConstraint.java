@@ -0,0 +1,44 @@
+package com.zombicide.missiongen.model.generation;
+
+/**
+ * A requirement on generated layouts, checked while the search fills the
+ * grid instead of on finished MissionGrids. Constraints are applied by
+ * {@link LayoutSolver} only; the random, anytime, local search and genetic
+ * generators do not take them.
+ * The constraint itself is immutable; {@link #start} creates the mutable
+ * {@link Check} of one search, so a constraint can be shared between solvers
+ * and threads.
+ */
+public interface LayoutConstraint {
+
+    /**
+     * Creates the incremental check of this constraint for a search over the
+     * pool and grid size.
+     *
+     * @throws IllegalArgumentException if the constraint does not apply to the
+     *                                  pool, e.g. it names a missing tile
+     */
+    Check start(TilePool pool, int width, int height);
+
+    /**
+     * Incremental state of a constraint during one search. Cells are placed in
+     * row-major order and removed in reverse order.
+     */
+    interface Check {
+
+        /**
+         * Called after the cell has been assigned. The arrays hold the whole
+         * partial layout, cells after this one are unassigned. On the last cell
+         * the result is whether the complete layout satisfies the constraint.
+         *
+         * @return false if no completion of the partial layout can satisfy the
+         *         constraint; {@link #remove} is still called for the cell
+         */
+        boolean place(int cell, int[] tiles, int[] rotations);
+
+        /**
+         * Undoes the placement of the cell.
+         */
+        void remove(int cell);
+    }
+}
@@ -0,0 +1,127 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the layout constraint language, one constraint per line or
+ * separated by ';'. Blank lines and text after '#' are ignored.
+ *
+ * <pre>
+ * require 4V                # tile on the grid
+ * exclude 2R                # tile not on the grid
+ * dead-ends &gt;= 3           # tiles whose streets reach one side only
+ * street-runs 3 == 1        # straight runs of exactly 3 cells
+ * no-identical-neighbours   # no adjacent tiles with the same streets
+ * connected-streets         # one street network
+ * </pre>
+ *
+ * Counts accept {@code ==}, {@code =}, {@code >=}, {@code >}, {@code <=} and
+ * {@code <}.
+ */
+public final class LayoutConstraintParser {
+
+    private LayoutConstraintParser() {
+    }
+
+    /**
+     * @throws IllegalArgumentException naming the line of the first invalid
+     *                                  constraint
+     */
+    public static List<LayoutConstraint> parse(String text) {
+        List<LayoutConstraint> constraints = new ArrayList<>();
+        String[] lines = text.split("\\R", -1);
+        for (int line = 0; line < lines.length; line++) {
+            String content = lines[line];
+            int comment = content.indexOf('#');
+            if (comment >= 0) {
+                content = content.substring(0, comment);
+            }
+            for (String statement : content.split(";")) {
+                String[] words = statement.trim().split("\\s+");
+                if (words[0].isEmpty()) {
+                    continue;
+                }
+                try {
+                    constraints.add(parseStatement(words));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Line " + (line + 1) + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return constraints;
+    }
+
+    private static LayoutConstraint parseStatement(String[] words) {
+        switch (words[0].toLowerCase()) {
+            case "require":
+                expectWords(words, 2);
+                return LayoutConstraints.requireTile(words[1]);
+            case "exclude":
+                expectWords(words, 2);
+                return LayoutConstraints.excludeTile(words[1]);
+            case "dead-ends": {
+                expectWords(words, 3);
+                int[] bounds = parseBounds(words[1], words[2]);
+                return LayoutConstraints.deadEnds(bounds[0], bounds[1]);
+            }
+            case "street-runs": {
+                expectWords(words, 4);
+                int[] bounds = parseBounds(words[2], words[3]);
+                return LayoutConstraints.streetRuns(parseCount(words[1]), bounds[0], bounds[1]);
+            }
+            case "no-identical-neighbours":
+                expectWords(words, 1);
+                return LayoutConstraints.noIdenticalNeighbours();
+            case "connected-streets":
+                expectWords(words, 1);
+                return LayoutConstraints.connectedStreets();
+            default:
+                throw new IllegalArgumentException("Unknown constraint '" + words[0] + "'");
+        }
+    }
+
+    private static void expectWords(String[] words, int count) {
+        if (words.length != count) {
+            throw new IllegalArgumentException(
+                    "'" + words[0] + "' expects " + (count - 1) + " arguments, got " + (words.length - 1));
+        }
+    }
+
+    /**
+     * @return {min, max} of the comparison, inclusive
+     */
+    private static int[] parseBounds(String operator, String value) {
+        int count = parseCount(value);
+        switch (operator) {
+            case "=":
+            case "==":
+                return new int[] { count, count };
+            case ">=":
+                return new int[] { count, Integer.MAX_VALUE };
+            case ">":
+                return new int[] { count + 1, Integer.MAX_VALUE };
+            case "<=":
+                return new int[] { 0, count };
+            case "<":
+                if (count == 0) {
+                    throw new IllegalArgumentException("No count is below 0");
+                }
+                return new int[] { 0, count - 1 };
+            default:
+                throw new IllegalArgumentException("Unknown comparison '" + operator + "'");
+        }
+    }
+
+    private static int parseCount(String value) {
+        try {
+            int count = Integer.parseInt(value);
+            if (count < 0) {
+                throw new IllegalArgumentException("Negative count " + value);
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a count: '" + value + "'");
+        }
+    }
+}
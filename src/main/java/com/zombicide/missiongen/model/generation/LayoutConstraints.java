@@ -0,0 +1,261 @@
+package com.zombicide.missiongen.model.generation;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.board.EdgeSignature;
+
+/**
+ * The built-in {@link LayoutConstraint}s, applied by {@link LayoutSolver}.
+ * Every check keeps its counters per cell so removing a cell restores them in
+ * O(1). Upper bounds prune as soon as they are exceeded; the minimum number of
+ * street runs is only checked on the complete layout.
+ */
+public final class LayoutConstraints {
+
+    private LayoutConstraints() {
+    }
+
+    /**
+     * The tile (pool id or tile name, e.g. "4V") must be on the grid.
+     */
+    public static LayoutConstraint requireTile(String tileId) {
+        return (pool, width, height) -> new TileCheck(pool, width * height, tileIndex(pool, tileId), true);
+    }
+
+    /**
+     * The tile (pool id or tile name) must not be on the grid.
+     */
+    public static LayoutConstraint excludeTile(String tileId) {
+        return (pool, width, height) -> new TileCheck(pool, width * height, tileIndex(pool, tileId), false);
+    }
+
+    /**
+     * Between min and max tiles, inclusive, whose streets reach exactly one
+     * side of the tile.
+     */
+    public static LayoutConstraint deadEnds(int min, int max) {
+        checkBounds(min, max);
+        return (pool, width, height) -> new DeadEndCheck(pool, width * height, min, max);
+    }
+
+    /**
+     * Between min and max straight street runs of exactly length cells,
+     * inclusive. A run is a maximal row or column of cells joined through the
+     * middle street of their shared side, so a 3x1 run is length 3. The
+     * maximum prunes during the search, the minimum is only checked once the
+     * layout is complete.
+     */
+    public static LayoutConstraint streetRuns(int length, int min, int max) {
+        if (length < 2) {
+            throw new IllegalArgumentException("A street run spans at least 2 cells: " + length);
+        }
+        checkBounds(min, max);
+        return (pool, width, height) -> new StreetRunCheck(pool, width, height, length, min, max);
+    }
+
+    /**
+     * No two orthogonally adjacent tiles with the same street layout, whatever
+     * their rotation.
+     */
+    public static LayoutConstraint noIdenticalNeighbours() {
+        return (pool, width, height) -> new IdenticalNeighbourCheck(pool, width);
+    }
+
+    /**
+     * The streets of the layout form a single network.
+     */
+    public static LayoutConstraint connectedStreets() {
+        return StreetConnectivity::new;
+    }
+
+    private static int tileIndex(TilePool pool, String tileId) {
+        int tile = pool.indexOf(tileId);
+        if (tile < 0) {
+            throw new IllegalArgumentException("Tile " + tileId + " is not in the pool");
+        }
+        return tile;
+    }
+
+    private static void checkBounds(int min, int max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Invalid bounds: " + min + ".." + max);
+        }
+    }
+
+    private static class TileCheck implements LayoutConstraint.Check {
+        private final TileInventory inventory;
+        private final int cells;
+        private final int tile;
+        private final boolean required;
+        private int placedAt = -1;
+        // cell holding the other face of the tile, which rules it out
+        private int blockedAt = -1;
+
+        TileCheck(TilePool pool, int cells, int tile, boolean required) {
+            this.inventory = pool.getInventory();
+            this.cells = cells;
+            this.tile = tile;
+            this.required = required;
+        }
+
+        @Override
+        public boolean place(int cell, int[] tiles, int[] rotations) {
+            if (tiles[cell] == tile) {
+                placedAt = cell;
+            } else if (inventory.getPhysicalTile(tiles[cell]) == inventory.getPhysicalTile(tile)) {
+                blockedAt = cell;
+            }
+            if (!required) {
+                return placedAt < 0;
+            }
+            return placedAt >= 0 || (blockedAt < 0 && cell < cells - 1);
+        }
+
+        @Override
+        public void remove(int cell) {
+            if (placedAt == cell) {
+                placedAt = -1;
+            }
+            if (blockedAt == cell) {
+                blockedAt = -1;
+            }
+        }
+    }
+
+    private static class DeadEndCheck implements LayoutConstraint.Check {
+        private static final int[] SIDES = { EdgeSignature.NORTH_SIDE, EdgeSignature.EAST_SIDE,
+                EdgeSignature.SOUTH_SIDE, EdgeSignature.WEST_SIDE };
+
+        private final boolean[] deadEnd;
+        private final int cells;
+        private final int min;
+        private final int max;
+        private final int[] countBefore;
+        private int count;
+
+        DeadEndCheck(TilePool pool, int cells, int min, int max) {
+            this.deadEnd = new boolean[pool.size()];
+            for (int tile = 0; tile < pool.size(); tile++) {
+                int signature = pool.getEdgeSignature(tile, 0);
+                int sides = 0;
+                for (int side : SIDES) {
+                    sides += (signature & side) != 0 ? 1 : 0;
+                }
+                deadEnd[tile] = sides == 1;
+            }
+            this.cells = cells;
+            this.min = min;
+            this.max = max;
+            this.countBefore = new int[cells];
+        }
+
+        @Override
+        public boolean place(int cell, int[] tiles, int[] rotations) {
+            countBefore[cell] = count;
+            count += deadEnd[tiles[cell]] ? 1 : 0;
+            return count <= max && count + (cells - 1 - cell) >= min;
+        }
+
+        @Override
+        public void remove(int cell) {
+            count = countBefore[cell];
+        }
+    }
+
+    private static class StreetRunCheck implements LayoutConstraint.Check {
+        private final TilePool pool;
+        private final int width;
+        private final int height;
+        private final int length;
+        private final int min;
+        private final int max;
+        // length of the run ending at each cell, horizontal and vertical
+        private final int[] rowRun;
+        private final int[] columnRun;
+        private final int[] countBefore;
+        // finished runs of the wanted length
+        private int count;
+
+        StreetRunCheck(TilePool pool, int width, int height, int length, int min, int max) {
+            this.pool = pool;
+            this.width = width;
+            this.height = height;
+            this.length = length;
+            this.min = min;
+            this.max = max;
+            this.rowRun = new int[width * height];
+            this.columnRun = new int[width * height];
+            this.countBefore = new int[width * height];
+        }
+
+        @Override
+        public boolean place(int cell, int[] tiles, int[] rotations) {
+            countBefore[cell] = count;
+            int col = cell % width;
+            int row = cell / width;
+            boolean westLink = col > 0
+                    && pool.hasStreet(tiles[cell - 1], rotations[cell - 1], AreaLocation.MIDDLE_RIGHT_STREET)
+                    && pool.hasStreet(tiles[cell], rotations[cell], AreaLocation.MIDDLE_LEFT_STREET);
+            boolean northLink = row > 0
+                    && pool.hasStreet(tiles[cell - width], rotations[cell - width],
+                            AreaLocation.BOTTOM_MIDDLE_STREET)
+                    && pool.hasStreet(tiles[cell], rotations[cell], AreaLocation.TOP_MIDDLE_STREET);
+            rowRun[cell] = westLink ? rowRun[cell - 1] + 1 : 1;
+            columnRun[cell] = northLink ? columnRun[cell - width] + 1 : 1;
+            if (col > 0 && !westLink) {
+                countRun(rowRun[cell - 1]);
+            }
+            if (col == width - 1) {
+                countRun(rowRun[cell]);
+            }
+            if (row > 0 && !northLink) {
+                countRun(columnRun[cell - width]);
+            }
+            if (row == height - 1) {
+                countRun(columnRun[cell]);
+            }
+            // no bound on the runs still to come, so min waits for the last cell
+            return count <= max && (cell < width * height - 1 || count >= min);
+        }
+
+        private void countRun(int run) {
+            if (run == length) {
+                count++;
+            }
+        }
+
+        @Override
+        public void remove(int cell) {
+            count = countBefore[cell];
+        }
+    }
+
+    private static class IdenticalNeighbourCheck implements LayoutConstraint.Check {
+        private final int width;
+        // smallest signature over the rotations of each tile
+        private final int[] streetLayout;
+
+        IdenticalNeighbourCheck(TilePool pool, int width) {
+            this.width = width;
+            this.streetLayout = new int[pool.size()];
+            for (int tile = 0; tile < pool.size(); tile++) {
+                int signature = pool.getEdgeSignature(tile, 0);
+                int smallest = signature;
+                for (int rotation = 1; rotation < TilePool.ROTATIONS; rotation++) {
+                    smallest = Math.min(smallest, EdgeSignature.rotate(signature, rotation));
+                }
+                streetLayout[tile] = smallest;
+            }
+        }
+
+        @Override
+        public boolean place(int cell, int[] tiles, int[] rotations) {
+            int layout = streetLayout[tiles[cell]];
+            return (cell % width == 0 || streetLayout[tiles[cell - 1]] != layout)
+                    && (cell < width || streetLayout[tiles[cell - width]] != layout);
+        }
+
+        @Override
+        public void remove(int cell) {
+        }
+    }
+}
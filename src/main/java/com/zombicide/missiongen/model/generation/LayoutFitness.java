@@ -0,0 +1,11 @@
+package com.zombicide.missiongen.model.generation;
+
+/**
+ * Score of a row-major layout placement over a {@link TilePool}; higher is
+ * better. Implementations are called from several threads at once.
+ */
+@FunctionalInterface
+public interface LayoutFitness {
+
+    double evaluate(int[] tiles, int[] rotations);
+}
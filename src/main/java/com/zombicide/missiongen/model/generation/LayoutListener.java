@@ -0,0 +1,16 @@
+package com.zombicide.missiongen.model.generation;
+
+/**
+ * Receives the layouts found by a layout search.
+ * Both arrays are indexed row-major (cell = row * width + col) and are reused
+ * by the search, copy them if they have to outlive the call.
+ */
+public interface LayoutListener {
+
+    /**
+     * @param tiles     tile index in the pool for every cell
+     * @param rotations quarter turns applied to every cell
+     * @return false to stop the search
+     */
+    boolean onLayout(int[] tiles, int[] rotations);
+}
@@ -0,0 +1,166 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.ToLongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zombicide.missiongen.model.board.MissionGrid;
+
+/**
+ * Publishes generated layouts as MissionGrids with backpressure.
+ * Every subscription runs its own generation on the executor; the generator
+ * thread is parked inside the layout callback whenever the subscriber has no
+ * outstanding demand, so at most the requested number of grids is ever built
+ * and nothing queues up between a fast generator and a slow consumer.
+ * The source is any push-based generator taking a {@link LayoutListener},
+ * e.g. {@link LayoutSolver#solve}; callbacks from several threads, as from
+ * {@link ParallelLayoutEnumerator#enumerate}, are serialised so the
+ * subscriber sees onNext calls one at a time.
+ * An exception thrown by the subscriber's onNext cancels the subscription:
+ * generation stops and the subscriber is not called again.
+ */
+public class LayoutPublisher implements Flow.Publisher<MissionGrid> {
+
+    private final TilePool pool;
+    private final int width;
+    private final int height;
+    private final ToLongFunction<LayoutListener> source;
+    private final Executor executor;
+
+    private static final Logger logger = LoggerFactory.getLogger(LayoutPublisher.class);
+
+    public LayoutPublisher(TilePool pool, int width, int height, ToLongFunction<LayoutListener> source,
+            Executor executor) {
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        this.source = source;
+        this.executor = executor;
+    }
+
+    /**
+     * Publisher of every valid layout in solver order.
+     */
+    public static LayoutPublisher exhaustive(TilePool pool, int width, int height, Executor executor) {
+        LayoutSolver solver = new LayoutSolver(pool, width, height);
+        return new LayoutPublisher(pool, width, height, solver::solve, executor);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super MissionGrid> subscriber) {
+        LayoutSubscription subscription = new LayoutSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        try {
+            executor.execute(subscription::run);
+        } catch (RejectedExecutionException e) {
+            logger.error("Layout generation could not be started", e);
+            subscription.terminate(e);
+        }
+    }
+
+    private class LayoutSubscription implements Flow.Subscription, LayoutListener {
+
+        private final Flow.Subscriber<? super MissionGrid> subscriber;
+        // serialises the generator threads, held apart from the demand monitor so
+        // request() and cancel() never wait for onNext
+        private final Object emitLock = new Object();
+        private long demand;
+        private boolean cancelled;
+        private Throwable pendingError;
+
+        LayoutSubscription(Flow.Subscriber<? super MissionGrid> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (n <= 0) {
+                pendingError = new IllegalArgumentException("Non-positive request: " + n);
+            } else {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+        /**
+         * Waits for demand, then hands the layout to the subscriber outside the
+         * demand monitor.
+         */
+        @Override
+        public boolean onLayout(int[] tiles, int[] rotations) {
+            synchronized (emitLock) {
+                if (!awaitDemand()) {
+                    return false;
+                }
+                MissionGrid grid = pool.toMissionGrid(width, height, tiles, rotations);
+                try {
+                    subscriber.onNext(grid);
+                } catch (Throwable e) {
+                    // a failing subscriber counts as cancelled and is not signalled again
+                    logger.error("Layout subscriber failed in onNext, cancelling", e);
+                    cancel();
+                    return false;
+                }
+                return true;
+            }
+        }
+
+        /**
+         * @return true with one unit of demand taken, false once cancelled or
+         *         failed
+         */
+        private synchronized boolean awaitDemand() {
+            while (demand == 0 && !cancelled && pendingError == null) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancelled = true;
+                }
+            }
+            if (cancelled || pendingError != null) {
+                return false;
+            }
+            demand--;
+            return true;
+        }
+
+        void run() {
+            try {
+                source.applyAsLong(this);
+            } catch (Throwable e) {
+                // Errors too, the subscriber must always get a terminal signal
+                logger.error("Layout generation failed", e);
+                terminate(e);
+                return;
+            }
+            terminate(null);
+        }
+
+        private void terminate(Throwable failure) {
+            Throwable error;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                error = failure != null ? failure : pendingError;
+            }
+            if (error != null) {
+                subscriber.onError(error);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.board.MissionGrid;
+import com.zombicide.missiongen.model.helpers.TileOperations;
+
+/**
+ * Headless backtracking solver that fills a width x height grid with tiles of a
+ * {@link TilePool}, each tile used at most once.
+ * Cells are filled row-major and the candidates (tile + rotation) of a cell
+ * are the AND of the {@link TileCompatibilityTable} rows of its already placed
+ * neighbours, which encode the street mirroring rules of
+ * {@link TileOperations#getNeighbouringStreetLocation(AreaLocation)}. Dead
+ * branches are cut as soon as a cell has no candidate instead of validating
+ * complete grids. Every {@link LayoutConstraint} added to the solver is
+ * checked on each placement as well, so constrained branches die at the cell
+ * that breaks them rather than after the grid is complete.
+ */
+public class LayoutSolver {
+
+    private final TilePool pool;
+    private final int width;
+    private final int height;
+
+    private final List<LayoutConstraint> constraints = new ArrayList<>();
+    private boolean connectedStreets;
+    private long nodesExplored;
+
+    private static final Logger logger = LoggerFactory.getLogger(LayoutSolver.class);
+
+    public LayoutSolver(TilePool pool, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+        }
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public long getNodesExplored() {
+        return nodesExplored;
+    }
+
+    public void addConstraint(LayoutConstraint constraint) {
+        constraints.add(constraint);
+    }
+
+    public void addConstraints(List<LayoutConstraint> constraints) {
+        this.constraints.addAll(constraints);
+    }
+
+    public List<LayoutConstraint> getConstraints() {
+        return constraints;
+    }
+
+    public boolean isConnectedStreets() {
+        return connectedStreets;
+    }
+
+    /**
+     * Only report layouts whose streets form a single network, so no mission
+     * built from them has unreachable street zones.
+     */
+    public void setConnectedStreets(boolean connectedStreets) {
+        this.connectedStreets = connectedStreets;
+    }
+
+    /**
+     * Enumerates every valid layout, reporting each one to the listener.
+     *
+     * @return number of layouts reported
+     */
+    public long solve(LayoutListener listener) {
+        long[] found = new long[1];
+        nodesExplored = 0;
+
+        if (!pool.canFill(width * height)) {
+            logger.info("Tile pool has {} physical tiles, not enough for a {}x{} grid",
+                    pool.getInventory().getPhysicalTiles(), width, height);
+            return 0;
+        }
+        List<LayoutConstraint.Check> checks = new ArrayList<>();
+        for (LayoutConstraint constraint : constraints) {
+            checks.add(constraint.start(pool, width, height));
+        }
+        if (connectedStreets) {
+            checks.add(LayoutConstraints.connectedStreets().start(pool, width, height));
+        }
+        search(new SearchState(pool, width, height), checks.toArray(new LayoutConstraint.Check[0]), 0, listener,
+                found);
+        logger.info("Layout search {}x{} explored {} nodes, found {} layouts", width, height, nodesExplored,
+                found[0]);
+        return found[0];
+    }
+
+    private boolean search(SearchState state, LayoutConstraint.Check[] checks, int cell, LayoutListener listener,
+            long[] found) {
+        if (cell == state.cells()) {
+            found[0]++;
+            return listener.onLayout(state.tiles, state.rotations);
+        }
+        long[] candidates = state.candidates(cell);
+        for (int word = 0; word < candidates.length; word++) {
+            long bits = candidates[word];
+            while (bits != 0) {
+                int candidate = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (state.isUsed(candidate)) {
+                    continue;
+                }
+                nodesExplored++;
+                state.place(cell, candidate);
+                int placed = 0;
+                boolean feasible = true;
+                while (feasible && placed < checks.length) {
+                    feasible = checks[placed++].place(cell, state.tiles, state.rotations);
+                }
+                boolean keepGoing = !feasible || search(state, checks, cell + 1, listener, found);
+                while (placed > 0) {
+                    checks[--placed].remove(cell);
+                }
+                state.remove(cell);
+                if (!keepGoing) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the first valid layout found, or null if there is none
+     */
+    public MissionGrid findFirst() {
+        List<MissionGrid> grids = findAll(1);
+        return grids.isEmpty() ? null : grids.get(0);
+    }
+
+    /**
+     * @return up to limit valid layouts as MissionGrids built from rotated tile
+     *         copies
+     */
+    public List<MissionGrid> findAll(int limit) {
+        List<MissionGrid> grids = new ArrayList<>();
+        if (limit <= 0) {
+            return grids;
+        }
+        solve((tiles, rotations) -> {
+            grids.add(pool.toMissionGrid(width, height, tiles, rotations));
+            return grids.size() < limit;
+        });
+        return grids;
+    }
+}
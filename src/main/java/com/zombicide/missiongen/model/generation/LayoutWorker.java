@@ -0,0 +1,67 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zombicide.missiongen.DTO.GenerationJobDTO;
+import com.zombicide.missiongen.services.PersistanceService;
+
+/**
+ * Worker side of {@link MultiProcessLayoutCoordinator}: searches the prefixes
+ * of a job file and appends every layout to the job's
+ * {@link MappedLayoutStore}. Run as a separate JVM with the job file as only
+ * argument; the exit code is 0 on success.
+ */
+public class LayoutWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(LayoutWorker.class);
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            logger.error("Usage: LayoutWorker <job file>");
+            System.exit(2);
+        }
+        try {
+            GenerationJobDTO job = readJob(Paths.get(args[0]));
+            TilePool pool = TilePool.fromCollection(new PersistanceService(), job.edition, job.collection);
+            run(pool, job);
+            System.exit(0);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Layout worker failed on {}", args[0], e);
+            System.exit(1);
+        }
+    }
+
+    public static GenerationJobDTO readJob(Path jobFile) throws IOException {
+        return new ObjectMapper().readValue(jobFile.toFile(), GenerationJobDTO.class);
+    }
+
+    /**
+     * Searches the job's prefixes over the pool and writes the layouts.
+     *
+     * @return number of layouts written
+     */
+    public static long run(TilePool pool, GenerationJobDTO job) throws IOException {
+        if (!pool.getTileIds().equals(job.tileIds)) {
+            throw new IOException("Tile pool of " + job.edition + "/" + job.collection
+                    + " does not match the coordinator's: " + pool.getTileIds() + " vs " + job.tileIds);
+        }
+        long[] found = new long[1];
+        try (MappedLayoutStore store = new MappedLayoutStore(Paths.get(job.outputPath),
+                new LayoutCodec(pool, job.width, job.height))) {
+            // a rerun of the same job starts from an empty store
+            store.truncate(0);
+            for (int[] prefix : job.prefixes) {
+                SearchPrefixes.search(pool, job.width, job.height, prefix, store, found);
+            }
+        }
+        logger.info("Layout worker searched {} prefixes, wrote {} layouts to {}", job.prefixes.size(), found[0],
+                job.outputPath);
+        return found[0];
+    }
+}
@@ -0,0 +1,254 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zombicide.missiongen.model.areas.Direction;
+import com.zombicide.missiongen.model.board.EdgeSignature;
+import com.zombicide.missiongen.model.board.MissionGrid;
+import com.zombicide.missiongen.model.helpers.TileOperations;
+
+/**
+ * Simulated annealing over complete layouts, for grids too large to
+ * backtrack. It starts from a random layout of distinct physical tiles and
+ * minimises the number of violated street pairs, the count MissionGrid
+ * reports through getViolatedEdges(). Each step rotates a cell, swaps two
+ * cells or replaces a cell with a face whose physical tile is free (or is
+ * the one being replaced, which flips the tile), and only the pairs around
+ * the changed cells are recounted. Worse moves are accepted with probability
+ * exp(-delta / temperature) while the temperature cools; the search stops as
+ * soon as no pair is violated.
+ */
+public class LocalSearchLayoutGenerator {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final double START_TEMPERATURE = 2.0;
+    private static final double MIN_TEMPERATURE = 0.05;
+    // steps per cell over which the temperature falls from start to min
+    private static final int COOLING_STEPS_PER_CELL = 2000;
+
+    private final TilePool pool;
+    private final int width;
+    private final int height;
+    private final Random random;
+    // neighbour cell per cell and direction, -1 outside the grid
+    private final int[][] neighbours;
+
+    private int[] tiles;
+    private int[] rotations;
+    // pool tiles not on the grid
+    private int[] unused;
+    private boolean[] placedPhysical;
+    private int violations;
+    private long iterations;
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalSearchLayoutGenerator.class);
+
+    public LocalSearchLayoutGenerator(TilePool pool, int width, int height, long seed) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+        }
+        if (!pool.canFill(width * height)) {
+            throw new IllegalArgumentException("Tile pool has " + pool.getInventory().getPhysicalTiles()
+                    + " physical tiles, not enough for a " + width + "x" + height + " grid");
+        }
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        this.random = new Random(seed);
+        this.neighbours = new int[width * height][DIRECTIONS.length];
+        for (int cell = 0; cell < width * height; cell++) {
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int[] offset = TileOperations.getDirectionOffset(cell % width, cell / width, DIRECTIONS[d]);
+                boolean inside = offset[0] >= 0 && offset[1] >= 0 && offset[0] < width && offset[1] < height;
+                neighbours[cell][d] = inside ? offset[1] * width + offset[0] : -1;
+            }
+        }
+    }
+
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Violated street pairs of the best layout of the last run.
+     */
+    public int getViolations() {
+        return violations;
+    }
+
+    /**
+     * Anneals from a new random layout until it is valid or maxIterations
+     * steps have run.
+     *
+     * @return the best layout found; valid if getViolations() is 0
+     */
+    public MissionGrid generate(long maxIterations) {
+        randomLayout();
+        int cells = width * height;
+        int[] bestTiles = tiles.clone();
+        int[] bestRotations = rotations.clone();
+        int best = violations;
+        double cooling = Math.pow(MIN_TEMPERATURE / START_TEMPERATURE,
+                1.0 / ((double) COOLING_STEPS_PER_CELL * cells));
+        double temperature = START_TEMPERATURE;
+
+        iterations = 0;
+        while (violations > 0 && iterations < maxIterations) {
+            iterations++;
+            int delta = tryMove(temperature);
+            violations += delta;
+            if (violations < best) {
+                best = violations;
+                System.arraycopy(tiles, 0, bestTiles, 0, cells);
+                System.arraycopy(rotations, 0, bestRotations, 0, cells);
+            }
+            temperature *= cooling;
+            if (temperature < MIN_TEMPERATURE) {
+                // reheat to escape the local minimum
+                temperature = START_TEMPERATURE;
+            }
+        }
+        violations = best;
+        logger.info("Local search {}x{} finished after {} iterations with {} violations", width, height, iterations,
+                best);
+        return pool.toMissionGrid(width, height, bestTiles, bestRotations);
+    }
+
+    private void randomLayout() {
+        int cells = width * height;
+        int[] order = new int[pool.size()];
+        for (int tile = 0; tile < order.length; tile++) {
+            order[tile] = tile;
+        }
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        TileInventory inventory = pool.getInventory();
+        tiles = new int[cells];
+        rotations = new int[cells];
+        unused = new int[pool.size() - cells];
+        placedPhysical = new boolean[inventory.getPhysicalTiles()];
+        int placed = 0;
+        for (int i = 0; i < order.length; i++) {
+            int physical = inventory.getPhysicalTile(order[i]);
+            if (placed < cells && !placedPhysical[physical]) {
+                tiles[placed] = order[i];
+                rotations[placed] = random.nextInt(TilePool.ROTATIONS);
+                placedPhysical[physical] = true;
+                placed++;
+            } else {
+                unused[i - placed] = order[i];
+            }
+        }
+        violations = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            violations += cellViolations(cell);
+        }
+        violations /= 2;
+    }
+
+    /**
+     * Applies a random move, undoing it if rejected.
+     *
+     * @return change in violated pairs
+     */
+    private int tryMove(double temperature) {
+        int cell = random.nextInt(tiles.length);
+        int move = random.nextInt(unused.length > 0 ? 3 : 2);
+        if (move == 0) {
+            int before = cellViolations(cell);
+            int oldRotation = rotations[cell];
+            rotations[cell] = (oldRotation + 1 + random.nextInt(TilePool.ROTATIONS - 1)) % TilePool.ROTATIONS;
+            int delta = cellViolations(cell) - before;
+            if (!accept(delta, temperature)) {
+                rotations[cell] = oldRotation;
+                return 0;
+            }
+            return delta;
+        }
+        if (move == 1) {
+            int other = random.nextInt(tiles.length);
+            if (other == cell) {
+                return 0;
+            }
+            int before = pairViolations(cell, other);
+            swapCells(cell, other);
+            int delta = pairViolations(cell, other) - before;
+            if (!accept(delta, temperature)) {
+                swapCells(cell, other);
+                return 0;
+            }
+            return delta;
+        }
+        int slot = random.nextInt(unused.length);
+        int oldTile = tiles[cell];
+        int oldPhysical = pool.getInventory().getPhysicalTile(oldTile);
+        int newPhysical = pool.getInventory().getPhysicalTile(unused[slot]);
+        if (newPhysical != oldPhysical && placedPhysical[newPhysical]) {
+            // the other face of a tile already on the grid
+            return 0;
+        }
+        int before = cellViolations(cell);
+        int oldRotation = rotations[cell];
+        tiles[cell] = unused[slot];
+        rotations[cell] = random.nextInt(TilePool.ROTATIONS);
+        int delta = cellViolations(cell) - before;
+        if (!accept(delta, temperature)) {
+            tiles[cell] = oldTile;
+            rotations[cell] = oldRotation;
+            return 0;
+        }
+        unused[slot] = oldTile;
+        placedPhysical[oldPhysical] = false;
+        placedPhysical[newPhysical] = true;
+        return delta;
+    }
+
+    private boolean accept(int delta, double temperature) {
+        return delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature);
+    }
+
+    private void swapCells(int a, int b) {
+        int tile = tiles[a];
+        int rotation = rotations[a];
+        tiles[a] = tiles[b];
+        rotations[a] = rotations[b];
+        tiles[b] = tile;
+        rotations[b] = rotation;
+    }
+
+    /**
+     * Violated pairs touching either cell, each counted once.
+     */
+    private int pairViolations(int a, int b) {
+        int violated = cellViolations(a) + cellViolations(b);
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            if (neighbours[a][d] == b && violated(a, d)) {
+                violated--;
+            }
+        }
+        return violated;
+    }
+
+    private int cellViolations(int cell) {
+        int violated = 0;
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            if (neighbours[cell][d] >= 0 && violated(cell, d)) {
+                violated++;
+            }
+        }
+        return violated;
+    }
+
+    private boolean violated(int cell, int direction) {
+        int neighbour = neighbours[cell][direction];
+        return !EdgeSignature.compatible(pool.getEdgeSignature(tiles[cell], rotations[cell]),
+                pool.getEdgeSignature(tiles[neighbour], rotations[neighbour]), DIRECTIONS[direction]);
+    }
+}
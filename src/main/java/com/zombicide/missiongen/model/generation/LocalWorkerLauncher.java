@@ -0,0 +1,33 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs jobs inside the current JVM on an already loaded pool, standing in for
+ * worker processes in tests and on machines where forking is not wanted.
+ */
+public class LocalWorkerLauncher implements WorkerLauncher {
+
+    private final TilePool pool;
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalWorkerLauncher.class);
+
+    public LocalWorkerLauncher(TilePool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public int run(Path jobFile) throws IOException {
+        try {
+            LayoutWorker.run(pool, LayoutWorker.readJob(jobFile));
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Local layout worker failed on {}", jobFile, e);
+            return 1;
+        }
+    }
+}
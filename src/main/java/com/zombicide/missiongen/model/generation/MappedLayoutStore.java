@@ -0,0 +1,278 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zombicide.missiongen.model.board.MissionGrid;
+
+/**
+ * Append-only file of fixed-width layout records, memory-mapped in segments
+ * so enumerated layouts live off-heap and survive restarts.
+ * The file starts with a header describing the grid and the
+ * {@link LayoutCodec} record width. Every record is a commit marker followed
+ * by the packed layout; appends reserve a slot with an atomic counter, write
+ * the layout and set the marker last, so any number of generator threads can
+ * append at once. When an existing file is opened, the records are counted up
+ * to the first one without a marker and every record after it is dropped:
+ * slots reserved but never completed when the previous run stopped, and the
+ * committed records that concurrent appenders left beyond such a gap.
+ * Reads by index or scan are meant for records whose append has completed,
+ * e.g. after the generator threads have finished.
+ * Commits are not crash-safe against an operating system crash or power loss:
+ * the marker is not ordered after the layout on disk, so a record can be
+ * found committed with a torn layout. A process that dies only loses its
+ * unfinished appends, as the mapped pages are already in the page cache.
+ * Call {@link #force()} at the points that must be durable.
+ */
+public class MappedLayoutStore implements LayoutListener, Closeable {
+
+    private static final long MAGIC = 0x5A4D4C41594F5554L; // "ZMLAYOUT"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final long COMMITTED = 0x436F6D6D69747465L;
+    // bytes mapped per segment, rounded down to whole records
+    private static final long SEGMENT_BYTES = 64L << 20;
+
+    private final LayoutCodec codec;
+    private final Path path;
+    private final FileChannel channel;
+    private final int recordBytes;
+    private final int recordsPerSegment;
+    private final AtomicLong reserved;
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedLayoutStore.class);
+
+    /**
+     * Opens the store at path, creating it if missing. An existing file must
+     * have been written for the same grid size and record width.
+     */
+    public MappedLayoutStore(Path path, LayoutCodec codec) throws IOException {
+        this.codec = codec;
+        this.path = path;
+        this.recordBytes = (codec.getWords() + 1) * Long.BYTES;
+        this.recordsPerSegment = (int) Math.max(1, SEGMENT_BYTES / recordBytes);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long records;
+        try {
+            if (channel.size() == 0) {
+                writeHeader();
+                records = 0;
+            } else {
+                checkHeader();
+                records = countCommitted();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.reserved = new AtomicLong(records);
+        logger.info("Opened layout store {} with {} layouts", path, records);
+    }
+
+    private void writeHeader() throws IOException {
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        header.putLong(0, MAGIC);
+        header.putInt(8, VERSION);
+        header.putInt(12, codec.getWidth());
+        header.putInt(16, codec.getHeight());
+        header.putInt(20, codec.getCellBits());
+        header.putInt(24, codec.getWords());
+        header.force();
+    }
+
+    private void checkHeader() throws IOException {
+        if (channel.size() < HEADER_BYTES) {
+            throw new IOException("Not a layout store, file too short: " + path);
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        if (header.getLong(0) != MAGIC || header.getInt(8) != VERSION) {
+            throw new IOException("Not a layout store or unsupported version: " + path);
+        }
+        if (header.getInt(12) != codec.getWidth() || header.getInt(16) != codec.getHeight()
+                || header.getInt(20) != codec.getCellBits() || header.getInt(24) != codec.getWords()) {
+            throw new IOException("Layout store " + path + " holds " + header.getInt(12) + "x" + header.getInt(16)
+                    + " layouts of " + header.getInt(20) + " bits per cell, expected " + codec.getWidth() + "x"
+                    + codec.getHeight() + " of " + codec.getCellBits());
+        }
+    }
+
+    private long countCommitted() throws IOException {
+        long capacity = (channel.size() - HEADER_BYTES) / recordBytes;
+        long records = 0;
+        while (records < capacity && marker(records) == COMMITTED) {
+            records++;
+        }
+        // records committed after the gap would be overwritten by later appends
+        // and then counted again, so they are dropped with the gap; the other
+        // markers are already clear and their pages are left untouched
+        long dropped = 0;
+        for (long index = records; index < capacity; index++) {
+            if (marker(index) == COMMITTED) {
+                segment(index).putLong((int) (index % recordsPerSegment) * recordBytes, 0L);
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            logger.warn("Dropped {} layouts written after an incomplete record in {}", dropped, path);
+        }
+        return records;
+    }
+
+    public LayoutCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Number of reserved records; all of them are complete once the appending
+     * threads have finished.
+     */
+    public long size() {
+        return reserved.get();
+    }
+
+    /**
+     * Appends a layout, safe to call from many threads.
+     *
+     * @return index of the new record
+     */
+    public long append(int[] tiles, int[] rotations) throws IOException {
+        long index = reserved.getAndIncrement();
+        MappedByteBuffer segment = segment(index);
+        int position = (int) (index % recordsPerSegment) * recordBytes;
+        long[] packed = codec.encode(tiles, rotations);
+        for (int word = 0; word < packed.length; word++) {
+            segment.putLong(position + (word + 1) * Long.BYTES, packed[word]);
+        }
+        segment.putLong(position, COMMITTED);
+        return index;
+    }
+
+    /**
+     * Appends the layout; I/O failures are rethrown unchecked so the store can
+     * be handed to the solvers as their listener.
+     */
+    @Override
+    public boolean onLayout(int[] tiles, int[] rotations) {
+        try {
+            append(tiles, rotations);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not append layout to " + path, e);
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the record at index into the given row-major arrays.
+     */
+    public void get(long index, int[] tiles, int[] rotations) throws IOException {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Layout " + index + " of " + size());
+        }
+        if (marker(index) != COMMITTED) {
+            throw new IllegalStateException("Layout " + index + " is still being written");
+        }
+        MappedByteBuffer segment = segment(index);
+        int position = (int) (index % recordsPerSegment) * recordBytes;
+        long[] packed = new long[codec.getWords()];
+        for (int word = 0; word < packed.length; word++) {
+            packed[word] = segment.getLong(position + (word + 1) * Long.BYTES);
+        }
+        codec.decode(packed, 0, tiles, rotations);
+    }
+
+    public MissionGrid getMissionGrid(long index) throws IOException {
+        int[] tiles = new int[codec.getWidth() * codec.getHeight()];
+        int[] rotations = new int[tiles.length];
+        get(index, tiles, rotations);
+        return codec.getPool().toMissionGrid(codec.getWidth(), codec.getHeight(), tiles, rotations);
+    }
+
+    /**
+     * Reports every record in order to the listener, reusing the same arrays,
+     * until it returns false.
+     *
+     * @return number of records reported
+     */
+    public long scan(LayoutListener listener) throws IOException {
+        int[] tiles = new int[codec.getWidth() * codec.getHeight()];
+        int[] rotations = new int[tiles.length];
+        long records = size();
+        for (long index = 0; index < records; index++) {
+            get(index, tiles, rotations);
+            if (!listener.onLayout(tiles, rotations)) {
+                return index + 1;
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Drops every record from index records on, e.g. the layouts of an
+     * enumeration prefix that was cut short. Must not run concurrently with
+     * appends.
+     */
+    public void truncate(long records) throws IOException {
+        long size = size();
+        if (records < 0 || records > size) {
+            throw new IndexOutOfBoundsException("Cannot truncate " + size + " layouts to " + records);
+        }
+        for (long index = records; index < size; index++) {
+            segment(index).putLong((int) (index % recordsPerSegment) * recordBytes, 0L);
+        }
+        reserved.set(records);
+    }
+
+    /**
+     * Writes the mapped records to disk.
+     */
+    public void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private long marker(long index) throws IOException {
+        return segment(index).getLong((int) (index % recordsPerSegment) * recordBytes);
+    }
+
+    private MappedByteBuffer segment(long index) throws IOException {
+        int segment = (int) (index / recordsPerSegment);
+        MappedByteBuffer[] current = segments;
+        if (segment < current.length) {
+            return current[segment];
+        }
+        return mapSegment(segment);
+    }
+
+    private synchronized MappedByteBuffer mapSegment(int segment) throws IOException {
+        MappedByteBuffer[] current = segments;
+        if (segment < current.length) {
+            return current[segment];
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(current, segment + 1);
+        long segmentBytes = (long) recordsPerSegment * recordBytes;
+        for (int i = current.length; i <= segment; i++) {
+            // mapping past the end grows the file with zeros, i.e. uncommitted records
+            grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + i * segmentBytes, segmentBytes);
+        }
+        segments = grown;
+        return grown[segment];
+    }
+}
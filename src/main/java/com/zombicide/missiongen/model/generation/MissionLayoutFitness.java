@@ -0,0 +1,273 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.areas.BoardArea;
+import com.zombicide.missiongen.model.areas.BoardAreaConnection;
+import com.zombicide.missiongen.model.areas.Direction;
+import com.zombicide.missiongen.model.areas.DoorDirection;
+import com.zombicide.missiongen.model.board.EdgeSignature;
+import com.zombicide.missiongen.model.board.MissionAreaIndex;
+import com.zombicide.missiongen.model.board.TileBoard;
+import com.zombicide.missiongen.model.helpers.DisjointSet;
+import com.zombicide.missiongen.model.helpers.TileOperations;
+
+/**
+ * Fitness from the zones a layout would produce in MissionFactoryService,
+ * computed without copying or rotating any board.
+ * The areas and connections of every pool tile are indexed once per
+ * rotation; for a layout the street areas are merged with
+ * {@link MissionAreaIndex#mergeStreets} as addAreas does, and the zones are
+ * then joined through the tile connections and the edge connections resolved
+ * like getMergedConnections. The score rewards the share of zones reachable
+ * in the largest connected part, adds zoneWeight per zone and subtracts
+ * violationWeight per violated street pair.
+ */
+public class MissionLayoutFitness implements LayoutFitness {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final TilePool pool;
+    private final int width;
+    private final int height;
+    private final double connectivityWeight;
+    private final double zoneWeight;
+    private final double violationWeight;
+
+    private final int[] areaCounts;
+    // [tile][rotation][area] street location ordinal, -1 for other areas
+    private final int[][][] streetLocations;
+    // [tile][connection] {areaA, areaB} of the connections inside the tile
+    private final int[][][] innerConnections;
+    // [tile][connection] area of every edge connection
+    private final int[][] edgeAreas;
+    // [tile][rotation][connection] door direction of every edge connection
+    private final DoorDirection[][][] edgeDirections;
+
+    public MissionLayoutFitness(TilePool pool, int width, int height) {
+        this(pool, width, height, 1.0, 0.0, 1.0);
+    }
+
+    public MissionLayoutFitness(TilePool pool, int width, int height, double connectivityWeight, double zoneWeight,
+            double violationWeight) {
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        this.connectivityWeight = connectivityWeight;
+        this.zoneWeight = zoneWeight;
+        this.violationWeight = violationWeight;
+
+        int tiles = pool.size();
+        this.areaCounts = new int[tiles];
+        this.streetLocations = new int[tiles][TilePool.ROTATIONS][];
+        this.innerConnections = new int[tiles][][];
+        this.edgeAreas = new int[tiles][];
+        this.edgeDirections = new DoorDirection[tiles][TilePool.ROTATIONS][];
+        for (int tile = 0; tile < tiles; tile++) {
+            indexTile(tile, pool.getBoard(tile));
+        }
+    }
+
+    private void indexTile(int tile, TileBoard board) {
+        List<BoardArea> areas = board.getAreas();
+        List<UUID> ids = new ArrayList<>();
+        for (BoardArea area : areas) {
+            ids.add(area.getAreaId());
+        }
+        areaCounts[tile] = areas.size();
+        List<AreaLocation> streets = AreaLocation.getStreetLocations();
+        for (int rotation = 0; rotation < TilePool.ROTATIONS; rotation++) {
+            int[] locations = new int[areas.size()];
+            for (int area = 0; area < areas.size(); area++) {
+                AreaLocation location = areas.get(area).getAreaLocation();
+                if (location != null && streets.contains(location)) {
+                    for (int turn = 0; turn < rotation; turn++) {
+                        location = location.rotate();
+                    }
+                    locations[area] = location.ordinal();
+                } else {
+                    locations[area] = -1;
+                }
+            }
+            streetLocations[tile][rotation] = locations;
+        }
+
+        List<int[]> inner = new ArrayList<>();
+        List<Integer> edges = new ArrayList<>();
+        List<DoorDirection> directions = new ArrayList<>();
+        for (BoardAreaConnection connection : board.getConnections()) {
+            int areaA = ids.indexOf(connection.getAreaAId());
+            if (areaA < 0) {
+                continue;
+            }
+            if (connection.getAreaBId() == null) {
+                if (connection.getDirection() != null) {
+                    edges.add(areaA);
+                    directions.add(connection.getDirection());
+                }
+            } else {
+                int areaB = ids.indexOf(connection.getAreaBId());
+                if (areaB >= 0) {
+                    inner.add(new int[] { areaA, areaB });
+                }
+            }
+        }
+        innerConnections[tile] = inner.toArray(new int[0][]);
+        edgeAreas[tile] = edges.stream().mapToInt(Integer::intValue).toArray();
+        for (int rotation = 0; rotation < TilePool.ROTATIONS; rotation++) {
+            DoorDirection[] rotated = new DoorDirection[directions.size()];
+            for (int i = 0; i < rotated.length; i++) {
+                DoorDirection direction = directions.get(i);
+                for (int turn = 0; turn < rotation; turn++) {
+                    direction = direction.rotate();
+                }
+                rotated[i] = direction;
+            }
+            edgeDirections[tile][rotation] = rotated;
+        }
+    }
+
+    @Override
+    public double evaluate(int[] tiles, int[] rotations) {
+        Metrics metrics = measure(tiles, rotations);
+        double connectivity = metrics.zones == 0 ? 0 : (double) metrics.largestConnectedZones / metrics.zones;
+        return connectivityWeight * connectivity + zoneWeight * metrics.zones
+                - violationWeight * metrics.violatedEdges;
+    }
+
+    /**
+     * Zones and street violations of a complete or partial layout; negative
+     * tiles are empty cells.
+     */
+    public Metrics measure(int[] tiles, int[] rotations) {
+        int cells = width * height;
+        int[] firstHandle = new int[cells + 1];
+        for (int cell = 0; cell < cells; cell++) {
+            firstHandle[cell + 1] = firstHandle[cell] + (tiles[cell] < 0 ? 0 : areaCounts[tiles[cell]]);
+        }
+        int handles = firstHandle[cells];
+        int[][] streetHandles = new int[cells][AreaLocation.values().length];
+        for (int cell = 0; cell < cells; cell++) {
+            Arrays.fill(streetHandles[cell], -1);
+            if (tiles[cell] < 0) {
+                continue;
+            }
+            int[] locations = streetLocations[tiles[cell]][rotations[cell]];
+            for (int area = 0; area < locations.length; area++) {
+                if (locations[area] >= 0 && streetHandles[cell][locations[area]] < 0) {
+                    streetHandles[cell][locations[area]] = firstHandle[cell] + area;
+                }
+            }
+        }
+
+        DisjointSet sets = new DisjointSet(handles);
+        int zones = handles - MissionAreaIndex.mergeStreets(width, height, streetHandles, sets);
+        boolean[] zoneRoot = new boolean[handles];
+        for (int handle = 0; handle < handles; handle++) {
+            zoneRoot[handle] = sets.find(handle) == handle;
+        }
+
+        for (int cell = 0; cell < cells; cell++) {
+            if (tiles[cell] < 0) {
+                continue;
+            }
+            int tile = tiles[cell];
+            for (int[] connection : innerConnections[tile]) {
+                sets.union(firstHandle[cell] + connection[0], firstHandle[cell] + connection[1]);
+            }
+            DoorDirection[] directions = edgeDirections[tile][rotations[cell]];
+            for (int i = 0; i < directions.length; i++) {
+                int target = edgeTarget(cell, directions[i], tiles, rotations, firstHandle, streetHandles);
+                if (target >= 0) {
+                    sets.union(firstHandle[cell] + edgeAreas[tile][i], target);
+                }
+            }
+        }
+
+        int[] zonesPerComponent = new int[handles];
+        int largest = 0;
+        for (int handle = 0; handle < handles; handle++) {
+            if (zoneRoot[handle]) {
+                largest = Math.max(largest, ++zonesPerComponent[sets.find(handle)]);
+            }
+        }
+        return new Metrics(zones, largest, countViolatedEdges(tiles, rotations));
+    }
+
+    /**
+     * Area an edge connection leads to in the neighbouring tile: its street at
+     * the door, or the area with the opposite edge connection; -1 if none.
+     */
+    private int edgeTarget(int cell, DoorDirection direction, int[] tiles, int[] rotations, int[] firstHandle,
+            int[][] streetHandles) {
+        int col = cell % width;
+        int row = cell / width;
+        if (direction.name().contains("NORTH")) {
+            row--;
+        } else if (direction.name().contains("SOUTH")) {
+            row++;
+        } else if (direction.name().contains("EAST")) {
+            col++;
+        } else if (direction.name().contains("WEST")) {
+            col--;
+        }
+        if (col < 0 || row < 0 || col >= width || row >= height) {
+            return -1;
+        }
+        int target = row * width + col;
+        if (tiles[target] < 0) {
+            return -1;
+        }
+        AreaLocation street = direction.toStreetLocation();
+        if (street != null && streetHandles[target][street.ordinal()] >= 0) {
+            return streetHandles[target][street.ordinal()];
+        }
+        DoorDirection opposite = direction.getOpposite();
+        DoorDirection[] targetDirections = edgeDirections[tiles[target]][rotations[target]];
+        for (int i = 0; i < targetDirections.length; i++) {
+            if (targetDirections[i] == opposite) {
+                return firstHandle[target] + edgeAreas[tiles[target]][i];
+            }
+        }
+        return -1;
+    }
+
+    private int countViolatedEdges(int[] tiles, int[] rotations) {
+        int violated = 0;
+        for (int cell = 0; cell < width * height; cell++) {
+            if (tiles[cell] < 0) {
+                continue;
+            }
+            int signature = pool.getEdgeSignature(tiles[cell], rotations[cell]);
+            for (Direction direction : DIRECTIONS) {
+                int[] offset = TileOperations.getDirectionOffset(cell % width, cell / width, direction);
+                if (offset[0] < 0 || offset[1] < 0 || offset[0] >= width || offset[1] >= height) {
+                    continue;
+                }
+                int neighbour = offset[1] * width + offset[0];
+                if (tiles[neighbour] >= 0 && !EdgeSignature.compatible(signature,
+                        pool.getEdgeSignature(tiles[neighbour], rotations[neighbour]), direction)) {
+                    violated++;
+                }
+            }
+        }
+        // every violated pair was seen from both cells
+        return violated / 2;
+    }
+
+    public static class Metrics {
+        public final int zones;
+        public final int largestConnectedZones;
+        public final int violatedEdges;
+
+        Metrics(int zones, int largestConnectedZones, int violatedEdges) {
+            this.zones = zones;
+            this.largestConnectedZones = largestConnectedZones;
+            this.violatedEdges = violatedEdges;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zombicide.missiongen.DTO.GenerationJobDTO;
+
+/**
+ * Spreads an exhaustive layout enumeration over several worker processes.
+ * The search tree is cut at a fixed prefix depth (e.g. the first row) and the
+ * prefixes, in search order, are split into one contiguous share per
+ * launcher. Each share is written as a JSON job to the work directory and
+ * run by its launcher in parallel; the workers write packed layouts to their
+ * own {@link MappedLayoutStore}, which the coordinator then reads back share
+ * by share. The merged output is therefore in the same order as a
+ * single-process {@link LayoutSolver} run.
+ * Scale by passing more launchers: several {@link ProcessWorkerLauncher}s for
+ * the local cores, with a command prefix for other nodes, or
+ * {@link LocalWorkerLauncher}s to run everything in-process.
+ */
+public class MultiProcessLayoutCoordinator {
+
+    private final TilePool pool;
+    private final String edition;
+    private final String collection;
+    private final int width;
+    private final int height;
+    private final int prefixDepth;
+    private final Path workDirectory;
+    private final List<WorkerLauncher> launchers;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final Logger logger = LoggerFactory.getLogger(MultiProcessLayoutCoordinator.class);
+
+    /**
+     * @param pool        the pool the workers load from edition/collection;
+     *                    its tile order must match theirs
+     * @param prefixDepth cells fixed by every prefix, e.g. width for the first
+     *                    row
+     */
+    public MultiProcessLayoutCoordinator(TilePool pool, String edition, String collection, int width, int height,
+            int prefixDepth, Path workDirectory, List<WorkerLauncher> launchers) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+        }
+        if (launchers.isEmpty()) {
+            throw new IllegalArgumentException("At least one worker launcher is needed");
+        }
+        this.pool = pool;
+        this.edition = edition;
+        this.collection = collection;
+        this.width = width;
+        this.height = height;
+        this.prefixDepth = Math.max(1, Math.min(prefixDepth, width * height));
+        this.workDirectory = workDirectory;
+        this.launchers = launchers;
+    }
+
+    /**
+     * Runs all workers, then reports their layouts to the listener in search
+     * order until it returns false.
+     *
+     * @return number of layouts reported
+     */
+    public long run(LayoutListener listener) throws IOException, InterruptedException {
+        Files.createDirectories(workDirectory);
+        List<int[]> prefixes = SearchPrefixes.create(pool, width, height, prefixDepth);
+        int workers = launchers.size();
+        List<Path> jobFiles = new ArrayList<>();
+        List<Path> outputs = new ArrayList<>();
+        for (int worker = 0; worker < workers; worker++) {
+            GenerationJobDTO job = new GenerationJobDTO();
+            job.edition = edition;
+            job.collection = collection;
+            job.width = width;
+            job.height = height;
+            job.tileIds = pool.getTileIds();
+            job.prefixes = new ArrayList<>(prefixes.subList(worker * prefixes.size() / workers,
+                    (worker + 1) * prefixes.size() / workers));
+            Path output = workDirectory.resolve("layouts-" + worker + ".bin");
+            job.outputPath = output.toAbsolutePath().toString();
+            Path jobFile = workDirectory.resolve("job-" + worker + ".json");
+            objectMapper.writeValue(jobFile.toFile(), job);
+            jobFiles.add(jobFile);
+            outputs.add(output);
+        }
+        logger.info("Split {}x{} enumeration into {} prefixes over {} workers", width, height, prefixes.size(),
+                workers);
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Integer>> exitCodes = new ArrayList<>();
+            for (int worker = 0; worker < workers; worker++) {
+                WorkerLauncher launcher = launchers.get(worker);
+                Path jobFile = jobFiles.get(worker);
+                exitCodes.add(executor.submit(() -> launcher.run(jobFile)));
+            }
+            for (int worker = 0; worker < workers; worker++) {
+                int exitCode = exitCodes.get(worker).get();
+                if (exitCode != 0) {
+                    throw new IOException("Worker " + worker + " failed with exit code " + exitCode + ", see "
+                            + jobFiles.get(worker) + ".log");
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("Worker launch failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long reported = 0;
+        LayoutCodec codec = new LayoutCodec(pool, width, height);
+        for (Path output : outputs) {
+            try (MappedLayoutStore store = new MappedLayoutStore(output, codec)) {
+                long[] count = new long[1];
+                boolean[] stopped = new boolean[1];
+                store.scan((tiles, rotations) -> {
+                    count[0]++;
+                    stopped[0] = !listener.onLayout(tiles, rotations);
+                    return !stopped[0];
+                });
+                reported += count[0];
+                if (stopped[0]) {
+                    break;
+                }
+            }
+        }
+        logger.info("Collected {} layouts from {} workers", reported, workers);
+        return reported;
+    }
+}
@@ -0,0 +1,78 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.zombicide.missiongen.model.board.MissionGrid;
+
+/**
+ * Append-only list of layouts stored with a {@link LayoutCodec}. Layouts live
+ * in fixed-size long[] chunks, so growing never copies what is already stored
+ * and memory stays at getWords() longs per layout. Can be passed to the
+ * solver directly as its listener; it is not thread-safe.
+ */
+public class PackedLayoutList implements LayoutListener {
+
+    // layouts per chunk
+    private static final int CHUNK_LAYOUTS = 1 << 16;
+
+    private final LayoutCodec codec;
+    private final int words;
+    private final List<long[]> chunks = new ArrayList<>();
+    private long size;
+
+    public PackedLayoutList(LayoutCodec codec) {
+        this.codec = codec;
+        this.words = codec.getWords();
+    }
+
+    public LayoutCodec getCodec() {
+        return codec;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public void add(int[] tiles, int[] rotations) {
+        int slot = (int) (size % CHUNK_LAYOUTS);
+        if (slot == 0) {
+            chunks.add(new long[CHUNK_LAYOUTS * words]);
+        }
+        codec.encode(tiles, rotations, chunks.get(chunks.size() - 1), slot * words);
+        size++;
+    }
+
+    @Override
+    public boolean onLayout(int[] tiles, int[] rotations) {
+        add(tiles, rotations);
+        return true;
+    }
+
+    /**
+     * Decodes the layout at index into the given row-major arrays.
+     */
+    public void get(long index, int[] tiles, int[] rotations) {
+        checkIndex(index);
+        codec.decode(chunks.get((int) (index / CHUNK_LAYOUTS)), (int) (index % CHUNK_LAYOUTS) * words, tiles,
+                rotations);
+    }
+
+    public MissionGrid getMissionGrid(long index) {
+        checkIndex(index);
+        return codec.toMissionGrid(chunks.get((int) (index / CHUNK_LAYOUTS)), (int) (index % CHUNK_LAYOUTS) * words);
+    }
+
+    /**
+     * Bytes held by the chunks, including the unused tail of the last one.
+     */
+    public long getMemoryBytes() {
+        return (long) chunks.size() * CHUNK_LAYOUTS * words * Long.BYTES;
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Layout " + index + " of " + size);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exhaustive layout enumeration spread over a ForkJoinPool.
+ * The search tree is split by cell assignments: a task forks one subtask per
+ * candidate of its next cell while the pool is short of queued work, otherwise
+ * it keeps searching its subtree sequentially. Idle workers steal the forked
+ * subtasks, which balances skewed subtrees without a fixed partition.
+ * Every task owns its {@link SearchState}, and layouts are reported to a
+ * listener that must be thread-safe.
+ */
+public class ParallelLayoutEnumerator {
+
+    // keep forking while fewer than this many tasks are waiting in the local queue
+    private static final int SURPLUS_TASKS = 3;
+
+    private final TilePool pool;
+    private final int width;
+    private final int height;
+    private final int parallelism;
+
+    private final LongAdder nodesExplored = new LongAdder();
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelLayoutEnumerator.class);
+
+    public ParallelLayoutEnumerator(TilePool pool, int width, int height) {
+        this(pool, width, height, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelLayoutEnumerator(TilePool pool, int width, int height, int parallelism) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        this.parallelism = parallelism;
+        // build the shared read-only table before any worker needs it
+        pool.getCompatibilityTable();
+    }
+
+    public long getNodesExplored() {
+        return nodesExplored.sum();
+    }
+
+    /**
+     * Enumerates every valid layout. The listener is called concurrently from the
+     * pool threads and must be thread-safe; returning false stops the
+     * enumeration as soon as the running tasks notice it.
+     *
+     * @return number of layouts reported
+     */
+    public long enumerate(LayoutListener listener) {
+        nodesExplored.reset();
+        if (!pool.canFill(width * height)) {
+            logger.info("Tile pool has {} physical tiles, not enough for a {}x{} grid",
+                    pool.getInventory().getPhysicalTiles(), width, height);
+            return 0;
+        }
+        LongAdder found = new LongAdder();
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+        try {
+            forkJoinPool.invoke(new SearchTask(new SearchState(pool, width, height), 0, listener, found, stopped,
+                    nodesExplored));
+        } finally {
+            forkJoinPool.shutdown();
+        }
+        logger.info("Parallel layout search {}x{} on {} threads explored {} nodes, found {} layouts", width, height,
+                parallelism, nodesExplored.sum(), found.sum());
+        return found.sum();
+    }
+
+    private static class SearchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SearchState state;
+        private final int cell;
+        private final LayoutListener listener;
+        private final LongAdder found;
+        private final AtomicBoolean stopped;
+        private final LongAdder nodesExplored;
+
+        private long nodes;
+
+        SearchTask(SearchState state, int cell, LayoutListener listener, LongAdder found, AtomicBoolean stopped,
+                LongAdder nodesExplored) {
+            this.state = state;
+            this.cell = cell;
+            this.listener = listener;
+            this.found = found;
+            this.stopped = stopped;
+            this.nodesExplored = nodesExplored;
+        }
+
+        @Override
+        protected void compute() {
+            if (stopped.get()) {
+                return;
+            }
+            if (cell < state.cells() - 1 && getSurplusQueuedTaskCount() < SURPLUS_TASKS) {
+                split();
+            } else {
+                search(cell);
+            }
+            nodesExplored.add(nodes);
+        }
+
+        private void split() {
+            List<SearchTask> subtasks = new ArrayList<>();
+            long[] candidates = state.candidates(cell);
+            for (int word = 0; word < candidates.length; word++) {
+                long bits = candidates[word];
+                while (bits != 0) {
+                    int candidate = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (state.isUsed(candidate)) {
+                        continue;
+                    }
+                    nodes++;
+                    SearchState child = new SearchState(state);
+                    child.place(cell, candidate);
+                    subtasks.add(new SearchTask(child, cell + 1, listener, found, stopped, nodesExplored));
+                }
+            }
+            invokeAll(subtasks);
+        }
+
+        private void search(int current) {
+            if (stopped.get()) {
+                return;
+            }
+            if (current == state.cells()) {
+                found.increment();
+                if (!listener.onLayout(state.tiles, state.rotations)) {
+                    stopped.set(true);
+                }
+                return;
+            }
+            long[] candidates = state.candidates(current);
+            for (int word = 0; word < candidates.length; word++) {
+                long bits = candidates[word];
+                while (bits != 0 && !stopped.get()) {
+                    int candidate = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (state.isUsed(candidate)) {
+                        continue;
+                    }
+                    nodes++;
+                    state.place(current, candidate);
+                    search(current + 1);
+                    state.remove(current);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Starts every job as a new JVM running {@link LayoutWorker} with the current
+ * classpath. An optional command prefix (e.g. "ssh", "node2") runs the worker
+ * on another machine, as long as it shares the job directory. The worker's
+ * output goes to a .log file next to the job file.
+ */
+public class ProcessWorkerLauncher implements WorkerLauncher {
+
+    private final List<String> commandPrefix;
+    private final String javaCommand;
+    private final String classpath;
+    private final List<String> jvmOptions;
+
+    public ProcessWorkerLauncher() {
+        this(Collections.emptyList(), Collections.emptyList());
+    }
+
+    public ProcessWorkerLauncher(List<String> commandPrefix, List<String> jvmOptions) {
+        this(commandPrefix, Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                System.getProperty("java.class.path"), jvmOptions);
+    }
+
+    public ProcessWorkerLauncher(List<String> commandPrefix, String javaCommand, String classpath,
+            List<String> jvmOptions) {
+        this.commandPrefix = commandPrefix;
+        this.javaCommand = javaCommand;
+        this.classpath = classpath;
+        this.jvmOptions = jvmOptions;
+    }
+
+    List<String> command(Path jobFile) {
+        List<String> command = new ArrayList<>(commandPrefix);
+        command.add(javaCommand);
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(LayoutWorker.class.getName());
+        command.add(jobFile.toAbsolutePath().toString());
+        return command;
+    }
+
+    @Override
+    public int run(Path jobFile) throws IOException, InterruptedException {
+        Path log = jobFile.resolveSibling(jobFile.getFileName() + ".log");
+        Process process = new ProcessBuilder(command(jobFile)).redirectErrorStream(true)
+                .redirectOutput(log.toFile()).start();
+        try {
+            return process.waitFor();
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+    }
+}
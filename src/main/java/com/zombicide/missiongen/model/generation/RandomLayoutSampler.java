@@ -0,0 +1,108 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.zombicide.missiongen.model.board.MissionGrid;
+
+/**
+ * Seeded source of random valid layouts. Every sample is a
+ * {@link RandomizedSearch} over the same candidate bitsets as
+ * {@link LayoutSolver} that returns its first complete layout. Samples are independent, so a layout may come
+ * up more than once.
+ * Layouts are generated one at a time when the iterator or stream asks for
+ * them, holding only the search state in memory, and each new iterator or
+ * stream replays the same sequence for the same seed.
+ */
+public class RandomLayoutSampler implements Iterable<MissionGrid> {
+
+    private final TilePool pool;
+    private final int width;
+    private final int height;
+    private final long seed;
+    private final boolean[] required;
+    private final boolean[] excluded;
+
+    public RandomLayoutSampler(TilePool pool, int width, int height, long seed) {
+        this(pool, width, height, seed, Collections.emptySet(), Collections.emptySet());
+    }
+
+    /**
+     * @param requiredTiles tile ids that must appear in every layout
+     * @param excludedTiles tile ids that must never appear
+     */
+    public RandomLayoutSampler(TilePool pool, int width, int height, long seed, Collection<String> requiredTiles,
+            Collection<String> excludedTiles) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+        }
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+        this.required = RandomizedSearch.toTileMask(pool, requiredTiles);
+        this.excluded = RandomizedSearch.toTileMask(pool, excludedTiles);
+        RandomizedSearch.checkDisjoint(pool, required, excluded);
+    }
+
+    /**
+     * Endless iterator of random layouts; it ends early only when no layout
+     * satisfies the grid size and tile constraints.
+     */
+    @Override
+    public Iterator<MissionGrid> iterator() {
+        return new SampleIterator();
+    }
+
+    /**
+     * Lazy stream of random layouts, to be bounded with limit().
+     */
+    public Stream<MissionGrid> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private class SampleIterator extends RandomizedSearch implements Iterator<MissionGrid> {
+
+        private MissionGrid next;
+        private boolean exhausted;
+
+        SampleIterator() {
+            super(pool, width, height, new Random(seed), required, excluded);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !exhausted) {
+                if (!pool.canFill(state.cells()) || !search(0)) {
+                    exhausted = true;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public MissionGrid next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            MissionGrid grid = next;
+            next = null;
+            return grid;
+        }
+
+        @Override
+        protected boolean onLayout() {
+            // the first complete layout of the shuffled search is the sample
+            next = pool.toMissionGrid(width, height, state.tiles, state.rotations);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.Collection;
+import java.util.Random;
+
+/**
+ * Seeded randomised backtracking over the candidate bitsets of a
+ * {@link SearchState}, shared by the generators that look for layouts in a
+ * random order rather than all of them. Cells are filled row-major and the
+ * candidates of each cell are tried in a Fisher-Yates shuffled order. Required
+ * tiles are counted down as they are placed, and a subtree is cut once too
+ * few cells are left to place the missing ones.
+ * Subclasses receive every complete layout in {@link #onLayout()} and may fix
+ * cells, restrict the candidates of a cell or stop the search; a stop check
+ * runs every few hundred nodes.
+ */
+abstract class RandomizedSearch {
+
+    // nodes between two stop checks
+    private static final int CHECK_INTERVAL = 256;
+
+    protected final SearchState state;
+    private final Random random;
+    private final boolean[] required;
+    // shuffled candidates of each cell, reused by every visit of the cell
+    private final int[][] order;
+    private int missingRequired;
+    private long nodes;
+
+    /**
+     * @param required tiles that must appear in every layout, null for none
+     * @param excluded tiles that must never appear, null for none
+     */
+    RandomizedSearch(TilePool pool, int width, int height, Random random, boolean[] required, boolean[] excluded) {
+        this.state = new SearchState(pool, width, height);
+        this.random = random;
+        this.required = required;
+        this.order = new int[state.cells()][pool.size() * TilePool.ROTATIONS];
+        for (int tile = 0; tile < pool.size(); tile++) {
+            if (excluded != null && excluded[tile]) {
+                state.exclude(tile);
+            }
+            if (required != null && required[tile]) {
+                missingRequired++;
+            }
+        }
+    }
+
+    /**
+     * Maps tile ids to a mask indexed by pool tile.
+     *
+     * @throws IllegalArgumentException if a tile is not in the pool
+     */
+    static boolean[] toTileMask(TilePool pool, Collection<String> tileIds) {
+        boolean[] mask = new boolean[pool.size()];
+        for (String tileId : tileIds) {
+            int tile = pool.indexOf(tileId);
+            if (tile < 0) {
+                throw new IllegalArgumentException("Tile not in pool: " + tileId);
+            }
+            mask[tile] = true;
+        }
+        return mask;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a tile is both required and excluded
+     */
+    static void checkDisjoint(TilePool pool, boolean[] required, boolean[] excluded) {
+        for (int tile = 0; tile < pool.size(); tile++) {
+            if (required[tile] && excluded[tile]) {
+                throw new IllegalArgumentException("Tile is both required and excluded: " + pool.getTileId(tile));
+            }
+        }
+    }
+
+    /**
+     * Called with the state holding a complete layout that contains every
+     * required tile. The state is unwound afterwards, so the layout must be
+     * copied to be kept.
+     *
+     * @return true to stop the search
+     */
+    protected abstract boolean onLayout();
+
+    /**
+     * Called every few hundred nodes.
+     *
+     * @return true to stop the search
+     */
+    protected boolean shouldStop() {
+        return false;
+    }
+
+    /**
+     * @return the state the cell is fixed to, or -1 to search its candidates
+     */
+    protected int fixedState(int cell) {
+        return -1;
+    }
+
+    /**
+     * @return mask of the states the cell may take besides its street
+     *         constraints, null for no restriction
+     */
+    protected long[] allowedStates(int cell) {
+        return null;
+    }
+
+    long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Searches the cells from cell on. The state is back to what it was on
+     * return.
+     *
+     * @return true if the search was stopped, false if the subtree was
+     *         searched to the end
+     */
+    final boolean search(int cell) {
+        if (cell == state.cells()) {
+            return missingRequired == 0 && onLayout();
+        }
+        if (state.cells() - cell < missingRequired) {
+            return false;
+        }
+        int fixed = fixedState(cell);
+        if (fixed >= 0) {
+            return place(cell, fixed);
+        }
+        int[] cellOrder = order[cell];
+        int count = shuffleCandidates(cell, cellOrder);
+        for (int i = 0; i < count; i++) {
+            if (place(cell, cellOrder[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean place(int cell, int candidate) {
+        if (++nodes % CHECK_INTERVAL == 0 && shouldStop()) {
+            return true;
+        }
+        boolean requiredTile = required != null && required[candidate / TilePool.ROTATIONS];
+        state.place(cell, candidate);
+        missingRequired -= requiredTile ? 1 : 0;
+        boolean stop = search(cell + 1);
+        missingRequired += requiredTile ? 1 : 0;
+        state.remove(cell);
+        return stop;
+    }
+
+    /**
+     * Writes the unused candidates of the cell into cellOrder, shuffled.
+     *
+     * @return number of candidates
+     */
+    private int shuffleCandidates(int cell, int[] cellOrder) {
+        long[] candidates = state.candidates(cell);
+        long[] allowed = allowedStates(cell);
+        int count = 0;
+        for (int word = 0; word < candidates.length; word++) {
+            long bits = allowed == null ? candidates[word] : candidates[word] & allowed[word];
+            while (bits != 0) {
+                int candidate = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (!state.isUsed(candidate)) {
+                    cellOrder[count++] = candidate;
+                }
+            }
+        }
+        // Fisher-Yates shuffle of the candidates of this cell
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = cellOrder[i];
+            cellOrder[i] = cellOrder[j];
+            cellOrder[j] = swap;
+        }
+        return count;
+    }
+}
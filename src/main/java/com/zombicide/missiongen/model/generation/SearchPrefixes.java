@@ -0,0 +1,90 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the layout search tree into the subtrees below every valid
+ * assignment of the first cells. A prefix is the tile * 4 + rotation state of
+ * each of those cells; prefixes come out, and their subtrees are searched, in
+ * {@link LayoutSolver} order, so searching the prefixes one after the other
+ * reports the same layouts in the same order as one full search.
+ */
+final class SearchPrefixes {
+
+    private SearchPrefixes() {
+    }
+
+    /**
+     * Every valid assignment of the first depth cells, in search order.
+     */
+    static List<int[]> create(TilePool pool, int width, int height, int depth) {
+        List<int[]> prefixes = new ArrayList<>();
+        if (pool.canFill(width * height)) {
+            collect(new SearchState(pool, width, height), new int[depth], 0, prefixes);
+        }
+        return prefixes;
+    }
+
+    private static void collect(SearchState state, int[] prefix, int cell, List<int[]> prefixes) {
+        if (cell == prefix.length) {
+            prefixes.add(prefix.clone());
+            return;
+        }
+        long[] candidates = state.candidates(cell);
+        for (int word = 0; word < candidates.length; word++) {
+            long bits = candidates[word];
+            while (bits != 0) {
+                int candidate = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (state.isUsed(candidate)) {
+                    continue;
+                }
+                prefix[cell] = candidate;
+                state.place(cell, candidate);
+                collect(state, prefix, cell + 1, prefixes);
+                state.remove(cell);
+            }
+        }
+    }
+
+    /**
+     * Reports every layout below the prefix to the listener.
+     *
+     * @param found incremented for every layout reported
+     * @return false if the listener asked to stop
+     */
+    static boolean search(TilePool pool, int width, int height, int[] prefix, LayoutListener listener,
+            long[] found) {
+        SearchState state = new SearchState(pool, width, height);
+        for (int cell = 0; cell < prefix.length; cell++) {
+            state.place(cell, prefix[cell]);
+        }
+        return search(state, prefix.length, listener, found);
+    }
+
+    private static boolean search(SearchState state, int cell, LayoutListener listener, long[] found) {
+        if (cell == state.cells()) {
+            found[0]++;
+            return listener.onLayout(state.tiles, state.rotations);
+        }
+        long[] candidates = state.candidates(cell);
+        for (int word = 0; word < candidates.length; word++) {
+            long bits = candidates[word];
+            while (bits != 0) {
+                int candidate = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (state.isUsed(candidate)) {
+                    continue;
+                }
+                state.place(cell, candidate);
+                boolean keepGoing = search(state, cell + 1, listener, found);
+                state.remove(cell);
+                if (!keepGoing) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
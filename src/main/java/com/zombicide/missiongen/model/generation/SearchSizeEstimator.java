@@ -0,0 +1,183 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Knuth's random-probe estimate of the layout search tree.
+ * Every probe walks from the root to a leaf of the tree {@link LayoutSolver}
+ * explores, picking one candidate uniformly at each cell. The product of the
+ * branching factors along the walk is an unbiased estimate of the number of
+ * nodes at that depth, so summing the products estimates the nodes explored
+ * and the final product, if the walk fills the grid, estimates the layouts.
+ * Averaging the probes gives the estimates and their standard errors.
+ */
+public class SearchSizeEstimator {
+
+    /** Nodes an exhaustive enumeration may explore before sampling is advised. */
+    public static final double DEFAULT_EXHAUSTIVE_NODE_BUDGET = 1e9;
+
+    public enum GenerationMode {
+        /** The whole tree is small enough to enumerate. */
+        EXHAUSTIVE,
+        /** Too big to enumerate but layouts exist, so random sampling finds them. */
+        SAMPLING,
+        /** Layouts look too rare to sample; use a local search instead. */
+        HEURISTIC
+    }
+
+    private final TilePool pool;
+    private final int width;
+    private final int height;
+    private final Random random;
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchSizeEstimator.class);
+
+    public SearchSizeEstimator(TilePool pool, int width, int height, long seed) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+        }
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        this.random = new Random(seed);
+    }
+
+    public Estimate estimate(int probes) {
+        if (probes < 2) {
+            throw new IllegalArgumentException("At least two probes are needed: " + probes);
+        }
+        double nodesSum = 0;
+        double nodesSquares = 0;
+        double solutionsSum = 0;
+        double solutionsSquares = 0;
+        if (pool.canFill(width * height)) {
+            SearchState state = new SearchState(pool, width, height);
+            int[] candidates = new int[pool.size() * TilePool.ROTATIONS];
+            for (int probe = 0; probe < probes; probe++) {
+                double[] result = probe(state, candidates);
+                nodesSum += result[0];
+                nodesSquares += result[0] * result[0];
+                solutionsSum += result[1];
+                solutionsSquares += result[1] * result[1];
+            }
+        }
+        Estimate estimate = new Estimate(probes, nodesSum, nodesSquares, solutionsSum, solutionsSquares);
+        logger.info("Search size {}x{} over {} tiles: ~{} nodes, ~{} layouts ({} probes)", width, height,
+                pool.size(), String.format("%.3g", estimate.getNodes()), String.format("%.3g", estimate.getSolutions()),
+                probes);
+        return estimate;
+    }
+
+    /**
+     * @return {nodes, solutions} estimated by one random walk
+     */
+    private double[] probe(SearchState state, int[] candidates) {
+        double nodes = 0;
+        double product = 1;
+        int cell = 0;
+        while (cell < state.cells()) {
+            long[] bits = state.candidates(cell);
+            int count = 0;
+            for (int word = 0; word < bits.length; word++) {
+                long wordBits = bits[word];
+                while (wordBits != 0) {
+                    int candidate = (word << 6) + Long.numberOfTrailingZeros(wordBits);
+                    wordBits &= wordBits - 1;
+                    if (!state.isUsed(candidate)) {
+                        candidates[count++] = candidate;
+                    }
+                }
+            }
+            if (count == 0) {
+                break;
+            }
+            product *= count;
+            nodes += product;
+            state.place(cell, candidates[random.nextInt(count)]);
+            cell++;
+        }
+        double solutions = cell == state.cells() ? product : 0;
+        while (cell > 0) {
+            state.remove(--cell);
+        }
+        return new double[] { nodes, solutions };
+    }
+
+    /**
+     * Averaged probe results with 95% normal-approximation bounds, clipped at
+     * zero.
+     */
+    public static class Estimate {
+
+        private static final double Z_95 = 1.96;
+
+        private final int probes;
+        private final double nodes;
+        private final double nodesError;
+        private final double solutions;
+        private final double solutionsError;
+
+        Estimate(int probes, double nodesSum, double nodesSquares, double solutionsSum, double solutionsSquares) {
+            this.probes = probes;
+            this.nodes = nodesSum / probes;
+            this.nodesError = standardError(probes, nodesSum, nodesSquares);
+            this.solutions = solutionsSum / probes;
+            this.solutionsError = standardError(probes, solutionsSum, solutionsSquares);
+        }
+
+        private static double standardError(int probes, double sum, double squares) {
+            double mean = sum / probes;
+            double variance = Math.max(0, (squares - probes * mean * mean) / (probes - 1));
+            return Math.sqrt(variance / probes);
+        }
+
+        public int getProbes() {
+            return probes;
+        }
+
+        public double getNodes() {
+            return nodes;
+        }
+
+        public double getNodesLower() {
+            return Math.max(0, nodes - Z_95 * nodesError);
+        }
+
+        public double getNodesUpper() {
+            return nodes + Z_95 * nodesError;
+        }
+
+        public double getSolutions() {
+            return solutions;
+        }
+
+        public double getSolutionsLower() {
+            return Math.max(0, solutions - Z_95 * solutionsError);
+        }
+
+        public double getSolutionsUpper() {
+            return solutions + Z_95 * solutionsError;
+        }
+
+        public GenerationMode recommendMode() {
+            return recommendMode(DEFAULT_EXHAUSTIVE_NODE_BUDGET);
+        }
+
+        /**
+         * Exhaustive when even the upper node bound fits the budget, sampling
+         * when probes reached complete layouts, heuristic otherwise.
+         */
+        public GenerationMode recommendMode(double exhaustiveNodeBudget) {
+            if (getNodesUpper() <= exhaustiveNodeBudget) {
+                return GenerationMode.EXHAUSTIVE;
+            }
+            if (solutions > 0) {
+                return GenerationMode.SAMPLING;
+            }
+            return GenerationMode.HEURISTIC;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.Arrays;
+
+import com.zombicide.missiongen.model.areas.Direction;
+
+/**
+ * Mutable state of a row-major layout search: the tile and rotation of every
+ * cell plus the physical tiles already used. Each search thread owns its own
+ * copy, so no MissionGrid or other shared structure is mutated while
+ * searching.
+ * Placing a tile takes every face of its physical tile out of the available
+ * states, so the other side of a double-sided tile never shows up as a
+ * candidate further down the search.
+ */
+class SearchState {
+
+    final int width;
+    final int height;
+    final int[] tiles;
+    final int[] rotations;
+    // faces the caller never wants placed
+    final boolean[] excluded;
+
+    private final TileCompatibilityTable table;
+    private final TileInventory inventory;
+    // bitset of used physical tiles
+    private final long[] usedPhysical;
+    // bitset of states whose physical tile is free and face not excluded
+    private final long[] available;
+    // candidate bitset per cell, reused across the search
+    private final long[][] candidatesByCell;
+
+    SearchState(TilePool pool, int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.table = pool.getCompatibilityTable();
+        this.inventory = pool.getInventory();
+        this.tiles = new int[width * height];
+        this.rotations = new int[width * height];
+        this.excluded = new boolean[pool.size()];
+        this.usedPhysical = new long[(inventory.getPhysicalTiles() + 63) >>> 6];
+        this.available = new long[table.getWords()];
+        this.candidatesByCell = new long[width * height][table.getWords()];
+        Arrays.fill(tiles, -1);
+        for (int tile = 0; tile < pool.size(); tile++) {
+            setAvailable(tile, true);
+        }
+    }
+
+    SearchState(SearchState stateToCopy) {
+        this.width = stateToCopy.width;
+        this.height = stateToCopy.height;
+        this.table = stateToCopy.table;
+        this.inventory = stateToCopy.inventory;
+        this.tiles = stateToCopy.tiles.clone();
+        this.rotations = stateToCopy.rotations.clone();
+        this.excluded = stateToCopy.excluded.clone();
+        this.usedPhysical = stateToCopy.usedPhysical.clone();
+        this.available = stateToCopy.available.clone();
+        this.candidatesByCell = new long[tiles.length][table.getWords()];
+    }
+
+    int cells() {
+        return tiles.length;
+    }
+
+    /**
+     * Keeps the tile out of the search; must be called before any placement.
+     */
+    void exclude(int tile) {
+        excluded[tile] = true;
+        setAvailable(tile, false);
+    }
+
+    void place(int cell, int state) {
+        int tile = state / TilePool.ROTATIONS;
+        tiles[cell] = tile;
+        rotations[cell] = state % TilePool.ROTATIONS;
+        int physical = inventory.getPhysicalTile(tile);
+        usedPhysical[physical >>> 6] |= 1L << physical;
+        for (int face : inventory.getFaces(physical)) {
+            setAvailable(face, false);
+        }
+    }
+
+    void remove(int cell) {
+        int physical = inventory.getPhysicalTile(tiles[cell]);
+        usedPhysical[physical >>> 6] &= ~(1L << physical);
+        for (int face : inventory.getFaces(physical)) {
+            setAvailable(face, !excluded[face]);
+        }
+        tiles[cell] = -1;
+    }
+
+    /**
+     * Whether the state's face is excluded or its physical tile is placed.
+     */
+    boolean isUsed(int state) {
+        int tile = state / TilePool.ROTATIONS;
+        int physical = inventory.getPhysicalTile(tile);
+        return excluded[tile] || (usedPhysical[physical >>> 6] & (1L << physical)) != 0;
+    }
+
+    private void setAvailable(int tile, boolean free) {
+        for (int rotation = 0; rotation < TilePool.ROTATIONS; rotation++) {
+            int state = TileCompatibilityTable.state(tile, rotation);
+            if (free) {
+                available[state >>> 6] |= 1L << state;
+            } else {
+                available[state >>> 6] &= ~(1L << state);
+            }
+        }
+    }
+
+    /**
+     * Available states compatible with every placed neighbour before the cell
+     * in row-major order (west, north-west, north and north-east). The
+     * returned bitset is owned by this state and overwritten by the next call
+     * for the same cell.
+     */
+    long[] candidates(int cell) {
+        int col = cell % width;
+        int row = cell / width;
+        long[] candidates = candidatesByCell[cell];
+        System.arraycopy(available, 0, candidates, 0, candidates.length);
+        if (col > 0) {
+            restrict(candidates, cell - 1, Direction.EAST);
+        }
+        if (row > 0) {
+            restrict(candidates, cell - width, Direction.SOUTH);
+            if (col > 0) {
+                restrict(candidates, cell - width - 1, Direction.SOUTH_EAST);
+            }
+            if (col < width - 1) {
+                restrict(candidates, cell - width + 1, Direction.SOUTH_WEST);
+            }
+        }
+        return candidates;
+    }
+
+    private void restrict(long[] candidates, int neighbour, Direction direction) {
+        if (tiles[neighbour] < 0) {
+            return;
+        }
+        long[] compatible = table.getCompatible(TileCompatibilityTable.state(tiles[neighbour], rotations[neighbour]),
+                direction);
+        for (int word = 0; word < candidates.length; word++) {
+            candidates[word] &= compatible[word];
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.areas.BoardArea;
+import com.zombicide.missiongen.model.areas.BoardArea.AreaType;
+import com.zombicide.missiongen.model.areas.BoardAreaConnection;
+import com.zombicide.missiongen.model.board.TileBoard;
+import com.zombicide.missiongen.model.helpers.DisjointSet;
+import com.zombicide.missiongen.model.helpers.RollbackDisjointSet;
+import com.zombicide.missiongen.model.helpers.TileOperations;
+import com.zombicide.missiongen.model.helpers.TileOperations.MirrorStreetLocation;
+
+/**
+ * Street network of a partial row-major layout, kept in a
+ * {@link RollbackDisjointSet} so the search can place and remove cells in
+ * LIFO order.
+ * Every street location of a placed cell is a handle. Inside a tile the
+ * street locations reachable from each other (through adjacent outdoor areas
+ * or the tile's own connections) are joined when the cell is placed; across
+ * tiles they are joined with the mirrored street of the neighbour, as
+ * {@link com.zombicide.missiongen.model.board.MissionAreaIndex} merges them.
+ * Each network counts its open ends, the mirrors pointing into cells not
+ * placed yet. A network without open ends can never grow again, so once one
+ * exists next to any other network the layout can no longer end up with a
+ * single connected street network and the branch is dead.
+ */
+class StreetConnectivity implements LayoutConstraint.Check {
+
+    private static final int SLOTS = AreaLocation.values().length;
+    private static final MirrorStreetLocation[][] MIRRORS = new MirrorStreetLocation[SLOTS][];
+
+    static {
+        for (AreaLocation location : AreaLocation.values()) {
+            MIRRORS[location.ordinal()] = TileOperations.getNeighbouringStreetLocation(location);
+        }
+    }
+
+    // [tile][rotation][slot] street group inside the tile, -1 without street
+    private final int[][][] streetGroups;
+    // [cell][slot][mirror] neighbour handle, -1 outside the grid
+    private final int[][][] mirrorHandles;
+
+    private final RollbackDisjointSet sets;
+    private final boolean[] active;
+    // open ends per root handle
+    private final int[] openEnds;
+    // undo log of openEnds writes: handle, previous value
+    private final int[] logHandles;
+    private final int[] logValues;
+    private int logSize;
+
+    private int networks;
+    private int closedNetworks;
+
+    // state before each cell was placed
+    private final int[] unionMarks;
+    private final int[] logMarks;
+    private final int[] networksBefore;
+    private final int[] closedBefore;
+    // handles touched by the current placement
+    private final int[] touched = new int[SLOTS * 3];
+
+    StreetConnectivity(TilePool pool, int width, int height) {
+        this.streetGroups = new int[pool.size()][][];
+        for (int tile = 0; tile < pool.size(); tile++) {
+            streetGroups[tile] = indexStreetGroups(pool.getBoard(tile));
+        }
+        int cells = width * height;
+        this.mirrorHandles = new int[cells][SLOTS][];
+        for (int cell = 0; cell < cells; cell++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                MirrorStreetLocation[] mirrors = MIRRORS[slot];
+                int[] handles = new int[mirrors.length];
+                for (int m = 0; m < mirrors.length; m++) {
+                    int[] offset = TileOperations.getDirectionOffset(cell % width, cell / width,
+                            mirrors[m].direction);
+                    boolean inside = offset[0] >= 0 && offset[1] >= 0 && offset[0] < width && offset[1] < height;
+                    handles[m] = inside ? (offset[1] * width + offset[0]) * SLOTS + mirrors[m].location.ordinal()
+                            : -1;
+                }
+                mirrorHandles[cell][slot] = handles;
+            }
+        }
+        this.sets = new RollbackDisjointSet(cells * SLOTS);
+        this.active = new boolean[cells * SLOTS];
+        this.openEnds = new int[cells * SLOTS];
+        // a placement writes one value per new handle, union and consumed end
+        this.logHandles = new int[cells * SLOTS * 6];
+        this.logValues = new int[logHandles.length];
+        this.unionMarks = new int[cells];
+        this.logMarks = new int[cells];
+        this.networksBefore = new int[cells];
+        this.closedBefore = new int[cells];
+    }
+
+    /**
+     * Street group of every street location of the board, for every rotation.
+     */
+    private static int[][] indexStreetGroups(TileBoard board) {
+        List<BoardArea> areas = board.getAreas();
+        DisjointSet tileSets = new DisjointSet(areas.size());
+        for (int a = 0; a < areas.size(); a++) {
+            for (int b = a + 1; b < areas.size(); b++) {
+                if (isOpen(areas.get(a)) && isOpen(areas.get(b)) && touch(areas.get(a), areas.get(b))) {
+                    tileSets.union(a, b);
+                }
+            }
+        }
+        for (BoardAreaConnection connection : board.getConnections()) {
+            if (connection.getAreaBId() != null) {
+                int a = indexOf(areas, connection.getAreaAId());
+                int b = indexOf(areas, connection.getAreaBId());
+                if (a >= 0 && b >= 0) {
+                    tileSets.union(a, b);
+                }
+            }
+        }
+        int[][] groups = new int[TilePool.ROTATIONS][SLOTS];
+        for (int[] rotationGroups : groups) {
+            Arrays.fill(rotationGroups, -1);
+        }
+        for (int area = 0; area < areas.size(); area++) {
+            AreaLocation location = areas.get(area).getAreaLocation();
+            if (location == null || location == AreaLocation.OTHER) {
+                continue;
+            }
+            for (int rotation = 0; rotation < TilePool.ROTATIONS; rotation++) {
+                if (groups[rotation][location.ordinal()] < 0) {
+                    groups[rotation][location.ordinal()] = tileSets.find(area);
+                }
+                location = location.rotate();
+            }
+        }
+        return groups;
+    }
+
+    private static boolean isOpen(BoardArea area) {
+        return area.getAreaType() != AreaType.INDOOR_LIGHT && area.getAreaType() != AreaType.INDOOR_DARK;
+    }
+
+    /**
+     * Whether the areas overlap or share a border segment; corners only do not
+     * count.
+     */
+    private static boolean touch(BoardArea a, BoardArea b) {
+        Point topLeftA = a.getTopLeft();
+        Point topLeftB = b.getTopLeft();
+        int overlapX = Math.min(topLeftA.x + a.getWidth(), topLeftB.x + b.getWidth())
+                - Math.max(topLeftA.x, topLeftB.x);
+        int overlapY = Math.min(topLeftA.y + a.getHeight(), topLeftB.y + b.getHeight())
+                - Math.max(topLeftA.y, topLeftB.y);
+        return (overlapX >= 0 && overlapY > 0) || (overlapX > 0 && overlapY >= 0);
+    }
+
+    private static int indexOf(List<BoardArea> areas, UUID areaId) {
+        for (int area = 0; area < areas.size(); area++) {
+            if (areas.get(area).getAreaId().equals(areaId)) {
+                return area;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the streets of the tile at the cell, which must be the next cell in
+     * row-major order.
+     *
+     * @return false if the street network can no longer become connected; the
+     *         cell must still be removed
+     */
+    @Override
+    public boolean place(int cell, int[] tiles, int[] rotations) {
+        unionMarks[cell] = sets.mark();
+        logMarks[cell] = logSize;
+        networksBefore[cell] = networks;
+        closedBefore[cell] = closedNetworks;
+
+        int first = cell * SLOTS;
+        int[] groups = streetGroups[tiles[cell]][rotations[cell]];
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (groups[slot] < 0) {
+                continue;
+            }
+            int open = 0;
+            for (int neighbour : mirrorHandles[cell][slot]) {
+                if (neighbour > first) {
+                    open++;
+                }
+            }
+            active[first + slot] = true;
+            setOpenEnds(first + slot, open);
+            networks++;
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            for (int other = slot + 1; other < SLOTS; other++) {
+                if (groups[slot] >= 0 && groups[slot] == groups[other]) {
+                    join(first + slot, first + other);
+                }
+            }
+        }
+        int touchedCount = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (active[first + slot]) {
+                touched[touchedCount++] = first + slot;
+            }
+        }
+        // consume the ends of placed neighbours pointing into this cell
+        for (int slot = 0; slot < SLOTS; slot++) {
+            for (int neighbour : mirrorHandles[cell][slot]) {
+                if (neighbour < 0 || neighbour > first || !active[neighbour]) {
+                    continue;
+                }
+                int root = sets.find(neighbour);
+                setOpenEnds(root, openEnds[root] - 1);
+                if (active[first + slot]) {
+                    join(first + slot, neighbour);
+                }
+                touched[touchedCount++] = neighbour;
+            }
+        }
+        // only the networks touched here can have lost their last open end
+        for (int i = 0; i < touchedCount; i++) {
+            int root = sets.find(touched[i]);
+            boolean counted = false;
+            for (int j = 0; j < i && !counted; j++) {
+                counted = sets.find(touched[j]) == root;
+            }
+            if (!counted && openEnds[root] == 0) {
+                closedNetworks++;
+            }
+        }
+        return closedNetworks == 0 || networks <= 1;
+    }
+
+    /**
+     * Undoes the placement of the cell; cells must be removed in reverse
+     * order of placement.
+     */
+    @Override
+    public void remove(int cell) {
+        sets.rollback(unionMarks[cell]);
+        while (logSize > logMarks[cell]) {
+            logSize--;
+            openEnds[logHandles[logSize]] = logValues[logSize];
+        }
+        networks = networksBefore[cell];
+        closedNetworks = closedBefore[cell];
+        Arrays.fill(active, cell * SLOTS, (cell + 1) * SLOTS, false);
+    }
+
+    int getNetworks() {
+        return networks;
+    }
+
+    private void join(int a, int b) {
+        int rootA = sets.find(a);
+        int rootB = sets.find(b);
+        if (sets.union(rootA, rootB)) {
+            int root = sets.find(rootA);
+            setOpenEnds(root, openEnds[rootA] + openEnds[rootB]);
+            networks--;
+        }
+    }
+
+    private void setOpenEnds(int handle, int value) {
+        logHandles[logSize] = handle;
+        logValues[logSize] = openEnds[handle];
+        logSize++;
+        openEnds[handle] = value;
+    }
+}
@@ -0,0 +1,66 @@
+package com.zombicide.missiongen.model.generation;
+
+import com.zombicide.missiongen.model.areas.Direction;
+import com.zombicide.missiongen.model.board.EdgeSignature;
+
+/**
+ * Collection-wide street compatibility table built from the tile edge
+ * signatures.
+ * A placement state is {@code tile * 4 + rotation}; for every state and
+ * direction the table holds the bitset of states that may sit next to it, so
+ * the candidates of a cell are the AND of the rows of its placed neighbours.
+ */
+public class TileCompatibilityTable {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final int states;
+    private final int words;
+    // [state][direction][word]
+    private final long[][][] compatible;
+
+    public TileCompatibilityTable(TilePool pool) {
+        this.states = pool.size() * TilePool.ROTATIONS;
+        this.words = Math.max(1, (states + 63) >>> 6);
+        this.compatible = new long[states][DIRECTIONS.length][words];
+        for (int a = 0; a < states; a++) {
+            int signatureA = pool.getEdgeSignature(a / TilePool.ROTATIONS, a % TilePool.ROTATIONS);
+            for (Direction direction : DIRECTIONS) {
+                long[] row = compatible[a][direction.ordinal()];
+                for (int b = 0; b < states; b++) {
+                    int signatureB = pool.getEdgeSignature(b / TilePool.ROTATIONS, b % TilePool.ROTATIONS);
+                    if (EdgeSignature.compatible(signatureA, signatureB, direction)) {
+                        row[b >>> 6] |= 1L << b;
+                    }
+                }
+            }
+        }
+    }
+
+    public static int state(int tile, int rotation) {
+        return tile * TilePool.ROTATIONS + rotation;
+    }
+
+    public int getStates() {
+        return states;
+    }
+
+    /**
+     * Number of longs in a state bitset.
+     */
+    public int getWords() {
+        return words;
+    }
+
+    /**
+     * States that may be placed at the given direction of the state. The
+     * returned array is shared and must not be modified.
+     */
+    public long[] getCompatible(int state, Direction direction) {
+        return compatible[state][direction.ordinal()];
+    }
+
+    public boolean isCompatible(int state, int neighbourState, Direction direction) {
+        return (compatible[state][direction.ordinal()][neighbourState >>> 6] & (1L << neighbourState)) != 0;
+    }
+}
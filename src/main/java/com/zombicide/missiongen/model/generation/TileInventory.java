@@ -0,0 +1,129 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps the tiles of a pool, which are tile faces, to the physical tiles they
+ * are printed on. Zombicide tiles are double-sided: 1R and 1V are the two
+ * faces of one cardboard, so a layout may hold at most one of them.
+ * Physical tiles are indexed 0..getPhysicalTiles()-1 in order of first face.
+ */
+public class TileInventory {
+
+    // "2ndEdition.0_original.1R" -> "2ndEdition.0_original.1"
+    private static final Pattern FACE_ID = Pattern.compile("(.*\\d)[RV]");
+
+    private final int[] physicalByTile;
+    // [physical][face]
+    private final int[][] facesByPhysical;
+
+    /**
+     * @param physicalByTile physical tile of every pool tile; physical
+     *                       indexes must cover 0..max without gaps
+     */
+    public TileInventory(int[] physicalByTile) {
+        this.physicalByTile = physicalByTile.clone();
+        int physicalTiles = 0;
+        for (int physical : physicalByTile) {
+            if (physical < 0) {
+                throw new IllegalArgumentException("Negative physical tile: " + physical);
+            }
+            physicalTiles = Math.max(physicalTiles, physical + 1);
+        }
+        int[] faceCount = new int[physicalTiles];
+        for (int physical : physicalByTile) {
+            faceCount[physical]++;
+        }
+        this.facesByPhysical = new int[physicalTiles][];
+        for (int physical = 0; physical < physicalTiles; physical++) {
+            if (faceCount[physical] == 0) {
+                throw new IllegalArgumentException("Physical tile " + physical + " has no faces");
+            }
+            facesByPhysical[physical] = new int[faceCount[physical]];
+        }
+        Arrays.fill(faceCount, 0);
+        for (int tile = 0; tile < physicalByTile.length; tile++) {
+            int physical = physicalByTile[tile];
+            facesByPhysical[physical][faceCount[physical]++] = tile;
+        }
+    }
+
+    /**
+     * Pairs faces by tile id: ids that only differ in a trailing R or V after
+     * the tile number share a physical tile. Any other id is a single-sided
+     * tile of its own.
+     */
+    public static TileInventory fromTileIds(List<String> tileIds) {
+        Map<String, Integer> physicalById = new LinkedHashMap<>();
+        int[] physicalByTile = new int[tileIds.size()];
+        for (int tile = 0; tile < tileIds.size(); tile++) {
+            String tileId = tileIds.get(tile);
+            Matcher matcher = FACE_ID.matcher(tileId);
+            String physicalId = matcher.matches() ? matcher.group(1) : tileId;
+            Integer physical = physicalById.get(physicalId);
+            if (physical == null) {
+                physical = physicalById.size();
+                physicalById.put(physicalId, physical);
+            }
+            physicalByTile[tile] = physical;
+        }
+        return new TileInventory(physicalByTile);
+    }
+
+    /**
+     * Inventory where every tile is a physical tile of its own.
+     */
+    public static TileInventory singleSided(int tiles) {
+        int[] physicalByTile = new int[tiles];
+        for (int tile = 0; tile < tiles; tile++) {
+            physicalByTile[tile] = tile;
+        }
+        return new TileInventory(physicalByTile);
+    }
+
+    public int getTiles() {
+        return physicalByTile.length;
+    }
+
+    public int getPhysicalTiles() {
+        return facesByPhysical.length;
+    }
+
+    public int getPhysicalTile(int tile) {
+        return physicalByTile[tile];
+    }
+
+    /**
+     * Pool tiles printed on the physical tile. The returned array is shared
+     * and must not be modified.
+     */
+    public int[] getFaces(int physical) {
+        return facesByPhysical[physical];
+    }
+
+    /**
+     * Tiles of a placement whose physical tile is already used by an earlier
+     * cell. Negative tile indexes are empty cells and are ignored.
+     */
+    public List<Integer> findConflicts(int[] tiles) {
+        List<Integer> conflicts = new ArrayList<>();
+        long[] used = new long[(getPhysicalTiles() + 63) >>> 6];
+        for (int tile : tiles) {
+            if (tile < 0) {
+                continue;
+            }
+            int physical = physicalByTile[tile];
+            if ((used[physical >>> 6] & (1L << physical)) != 0) {
+                conflicts.add(tile);
+            }
+            used[physical >>> 6] |= 1L << physical;
+        }
+        return conflicts;
+    }
+}
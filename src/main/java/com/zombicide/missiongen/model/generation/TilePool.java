@@ -0,0 +1,168 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zombicide.missiongen.model.Tile;
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.board.EdgeSignature;
+import com.zombicide.missiongen.model.board.MissionGrid;
+import com.zombicide.missiongen.model.board.TileBoard;
+import com.zombicide.missiongen.services.PersistanceService;
+
+/**
+ * The set of tiles a layout can be generated from.
+ * Tiles are addressed by index and rotations by quarter turns (0..3) relative
+ * to the board as loaded, so the search never has to touch a TileBoard.
+ */
+public class TilePool {
+
+    public static final int ROTATIONS = 4;
+
+    private final List<TileBoard> boards;
+    // [tile][rotation]
+    private final int[][] signatures;
+    private final TileInventory inventory;
+    private TileCompatibilityTable compatibilityTable;
+
+    private static final Logger logger = LoggerFactory.getLogger(TilePool.class);
+
+    /**
+     * Pool whose double-sided tiles are paired by face id, see
+     * {@link TileInventory#fromTileIds(List)}.
+     */
+    public TilePool(List<TileBoard> boards) {
+        this(boards, null);
+    }
+
+    public TilePool(List<TileBoard> boards, TileInventory inventory) {
+        this.boards = new ArrayList<>(boards);
+        this.signatures = new int[boards.size()][ROTATIONS];
+        for (int tile = 0; tile < boards.size(); tile++) {
+            for (int rotation = 0; rotation < ROTATIONS; rotation++) {
+                signatures[tile][rotation] = boards.get(tile).getEdgeSignature(rotation);
+            }
+        }
+        this.inventory = inventory != null ? inventory : TileInventory.fromTileIds(getTileIds());
+        if (this.inventory.getTiles() != boards.size()) {
+            throw new IllegalArgumentException("Inventory covers " + this.inventory.getTiles() + " tiles, pool has "
+                    + boards.size());
+        }
+    }
+
+    /**
+     * Loads every tile of a collection as returned by
+     * {@link PersistanceService#getTiles(String, String)}.
+     * Tiles that cannot be loaded are skipped.
+     */
+    public static TilePool fromCollection(PersistanceService persistanceService, String edition,
+            String collection) {
+        List<TileBoard> boards = new ArrayList<>();
+        for (String tileName : persistanceService.getTiles(edition, collection)) {
+            Tile tile = persistanceService.getTile(edition, collection, tileName);
+            if (tile == null || tile.getBoard() == null) {
+                logger.warn("Tile {} of {}/{} could not be loaded, skipping it", tileName, edition, collection);
+                continue;
+            }
+            boards.add(tile.getBoard());
+        }
+        TilePool pool = new TilePool(boards);
+        logger.info("Tile pool for {}/{} has {} tiles on {} physical tiles", edition, collection, boards.size(),
+                pool.getInventory().getPhysicalTiles());
+        return pool;
+    }
+
+    public int size() {
+        return boards.size();
+    }
+
+    public TileInventory getInventory() {
+        return inventory;
+    }
+
+    /**
+     * Whether the pool has enough physical tiles to fill a grid of the given
+     * number of cells.
+     */
+    public boolean canFill(int cells) {
+        return inventory.getPhysicalTiles() >= cells;
+    }
+
+    public TileBoard getBoard(int tile) {
+        return boards.get(tile);
+    }
+
+    public List<TileBoard> getBoards() {
+        return Collections.unmodifiableList(boards);
+    }
+
+    public String getTileId(int tile) {
+        return boards.get(tile).getBoardId();
+    }
+
+    public List<String> getTileIds() {
+        List<String> tileIds = new ArrayList<>();
+        for (TileBoard board : boards) {
+            tileIds.add(board.getBoardId());
+        }
+        return tileIds;
+    }
+
+    public int indexOf(String tileId) {
+        for (int tile = 0; tile < boards.size(); tile++) {
+            String boardId = getTileId(tile);
+            if (boardId.equals(tileId) || boardId.endsWith("." + tileId)) {
+                return tile;
+            }
+        }
+        return -1;
+    }
+
+    public boolean hasStreet(int tile, int rotation, AreaLocation location) {
+        return EdgeSignature.has(signatures[tile][rotation], location);
+    }
+
+    public int getEdgeSignature(int tile, int rotation) {
+        return signatures[tile][rotation];
+    }
+
+    public synchronized TileCompatibilityTable getCompatibilityTable() {
+        if (compatibilityTable == null) {
+            compatibilityTable = new TileCompatibilityTable(this);
+        }
+        return compatibilityTable;
+    }
+
+    /**
+     * Creates an independent copy of a tile turned the given number of quarter
+     * turns clockwise.
+     */
+    public TileBoard createRotatedBoard(int tile, int rotation) {
+        TileBoard board = new TileBoard(boards.get(tile));
+        for (int i = 0; i < rotation; i++) {
+            board.rotate();
+        }
+        return board;
+    }
+
+    /**
+     * Builds a MissionGrid from a solver placement. Cells are indexed row-major
+     * (cell = row * width + col); a negative tile index leaves the cell empty.
+     */
+    public MissionGrid toMissionGrid(int width, int height, int[] tiles, int[] rotations) {
+        MissionGrid grid = new MissionGrid(width, height);
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int cell = row * width + col;
+                if (tiles[cell] >= 0) {
+                    grid.setBoard(col, row, createRotatedBoard(tiles[cell], rotations[cell]));
+                }
+            }
+        }
+        return grid;
+    }
+}
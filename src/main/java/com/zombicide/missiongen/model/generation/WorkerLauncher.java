@@ -0,0 +1,18 @@
+package com.zombicide.missiongen.model.generation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Runs one {@link LayoutWorker} job, as a separate process or in-process.
+ */
+@FunctionalInterface
+public interface WorkerLauncher {
+
+    /**
+     * Runs the job and waits for it.
+     *
+     * @return exit code, 0 on success
+     */
+    int run(Path jobFile) throws IOException, InterruptedException;
+}
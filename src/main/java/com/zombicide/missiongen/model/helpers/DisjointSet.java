@@ -0,0 +1,61 @@
+package com.zombicide.missiongen.model.helpers;
+
+/**
+ * Union-find over int handles 0..size-1, with union by size and path halving.
+ */
+public class DisjointSet {
+
+    private final int[] parent;
+    private final int[] size;
+
+    public DisjointSet(int elements) {
+        this.parent = new int[elements];
+        this.size = new int[elements];
+        for (int i = 0; i < elements; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+    }
+
+    public int size() {
+        return parent.length;
+    }
+
+    public int find(int element) {
+        while (parent[element] != element) {
+            parent[element] = parent[parent[element]];
+            element = parent[element];
+        }
+        return element;
+    }
+
+    /**
+     * @return true if the two elements were in different sets
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (size[rootA] < size[rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        return true;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * Number of elements in the set of the element.
+     */
+    public int setSize(int element) {
+        return size[find(element)];
+    }
+}
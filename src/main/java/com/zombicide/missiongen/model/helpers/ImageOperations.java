@@ -2,6 +2,11 @@ package com.zombicide.missiongen.model.helpers;
 
 import java.awt.Image;
 import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.ImageObserver;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
 import java.io.File;
 import java.io.IOException;
 
@@ -12,16 +17,24 @@ import com.zombicide.missiongen.config.ConfigLoader;
 public class ImageOperations {
     
 
+    /**
+     * Returns a rotated copy of the image. Multiples of 90 degrees go through
+     * {@link #rotateQuarterTurns}, other angles are drawn with an
+     * AffineTransform on a canvas of the same size.
+     */
     public static Image rotateImage(Image img, int angleDegrees) {
         if (img == null) {
             return null;
         }
+        if (angleDegrees % 90 == 0) {
+            BufferedImage source = img instanceof BufferedImage ? (BufferedImage) img : copyImage(img);
+            return rotateQuarterTurns(source, angleDegrees / 90, null);
+        }
 
         int w = img.getWidth(null);
         int h = img.getHeight(null);
 
-        java.awt.image.BufferedImage newImage = new java.awt.image.BufferedImage(w, h,
-                java.awt.image.BufferedImage.TYPE_INT_ARGB);
+        BufferedImage newImage = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
         java.awt.Graphics2D g2d = newImage.createGraphics();
 
         AffineTransform at = new AffineTransform();
@@ -38,6 +51,165 @@ public class ImageOperations {
       return rotateImage(img, 90);
     }
 
+    /**
+     * Draws an image turned the given quarter turns clockwise into the
+     * rectangle, which has the rotated size. Only the transform of the
+     * graphics changes, no rotated image is created.
+     */
+    public static void drawRotated(java.awt.Graphics2D g, Image img, int quarterTurns, int x, int y, int width,
+            int height, ImageObserver observer) {
+        int turns = Math.floorMod(quarterTurns, 4);
+        AffineTransform saved = g.getTransform();
+        g.translate(x, y);
+        switch (turns) {
+            case 1:
+                g.translate(width, 0);
+                break;
+            case 2:
+                g.translate(width, height);
+                break;
+            case 3:
+                g.translate(0, height);
+                break;
+            default:
+                break;
+        }
+        g.rotate(Math.toRadians(90 * turns));
+        if (turns % 2 == 0) {
+            g.drawImage(img, 0, 0, width, height, observer);
+        } else {
+            g.drawImage(img, 0, 0, height, width, observer);
+        }
+        g.setTransform(saved);
+    }
+
+    /**
+     * Turns an image the given quarter turns clockwise by remapping its int
+     * pixels, without going through Graphics2D.
+     * The result is written into dst when it is a packed int image of the
+     * rotated size and of the same type as src, otherwise a new image is
+     * allocated. dst may be src itself for half turns and for square images,
+     * so a caller keeping its own image or a spare one rotates without
+     * allocating. Sources that are not packed int images are converted to
+     * TYPE_INT_ARGB first.
+     *
+     * @return dst, or the newly allocated image
+     */
+    public static BufferedImage rotateQuarterTurns(BufferedImage src, int quarterTurns, BufferedImage dst) {
+        if (!isPackedInt(src)) {
+            boolean inPlace = dst == src;
+            src = copyImage(src);
+            // rotating in place goes on in the converted copy, which is ours
+            dst = inPlace ? src : dst;
+        }
+        int turns = Math.floorMod(quarterTurns, 4);
+        int w = src.getWidth();
+        int h = src.getHeight();
+        int dw = turns % 2 == 0 ? w : h;
+        int dh = turns % 2 == 0 ? h : w;
+        if (dst == null || !isPackedInt(dst) || dst.getType() != src.getType() || dst.getWidth() != dw
+                || dst.getHeight() != dh) {
+            dst = new BufferedImage(dw, dh, src.getType());
+        }
+        int[] s = pixels(src);
+        int[] d = pixels(dst);
+        if (dst == src) {
+            rotateInPlace(s, w, turns);
+            return dst;
+        }
+        switch (turns) {
+            case 0:
+                System.arraycopy(s, 0, d, 0, s.length);
+                break;
+            case 1:
+                // (x, y) goes to (h - 1 - y, x)
+                for (int y = 0, i = 0; y < h; y++) {
+                    for (int x = 0, j = h - 1 - y; x < w; x++, i++, j += dw) {
+                        d[j] = s[i];
+                    }
+                }
+                break;
+            case 2:
+                for (int i = 0, j = s.length - 1; j >= 0; i++, j--) {
+                    d[j] = s[i];
+                }
+                break;
+            default:
+                // (x, y) goes to (y, w - 1 - x)
+                for (int y = 0, i = 0; y < h; y++) {
+                    for (int x = 0, j = (w - 1) * dw + y; x < w; x++, i++, j -= dw) {
+                        d[j] = s[i];
+                    }
+                }
+                break;
+        }
+        return dst;
+    }
+
+    /**
+     * Rotates the pixels of a square image, or of any image for a half turn,
+     * moving four pixels at a time around the centre.
+     */
+    private static void rotateInPlace(int[] p, int n, int turns) {
+        if (turns == 2) {
+            for (int i = 0, j = p.length - 1; i < j; i++, j--) {
+                int swap = p[i];
+                p[i] = p[j];
+                p[j] = swap;
+            }
+            return;
+        }
+        if (turns == 0) {
+            return;
+        }
+        if (p.length != n * n) {
+            throw new IllegalArgumentException("Only square images turn a quarter in place");
+        }
+        for (int y = 0; y < n / 2; y++) {
+            for (int x = y; x < n - 1 - y; x++) {
+                // the four pixels a quarter turn apart: (x, y), (n-1-y, x), (n-1-x, n-1-y), (y, n-1-x)
+                int a = y * n + x;
+                int b = x * n + (n - 1 - y);
+                int c = (n - 1 - y) * n + (n - 1 - x);
+                int d = (n - 1 - x) * n + y;
+                int swap = p[a];
+                if (turns == 1) {
+                    p[a] = p[d];
+                    p[d] = p[c];
+                    p[c] = p[b];
+                    p[b] = swap;
+                } else {
+                    p[a] = p[b];
+                    p[b] = p[c];
+                    p[c] = p[d];
+                    p[d] = swap;
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the pixels of the image are one int per pixel in a single
+     * array without padding, which is how TYPE_INT images are created.
+     */
+    private static boolean isPackedInt(BufferedImage image) {
+        WritableRaster raster = image.getRaster();
+        if (!(raster.getDataBuffer() instanceof DataBufferInt)
+                || !(raster.getSampleModel() instanceof SinglePixelPackedSampleModel)) {
+            return false;
+        }
+        DataBufferInt buffer = (DataBufferInt) raster.getDataBuffer();
+        SinglePixelPackedSampleModel model = (SinglePixelPackedSampleModel) raster.getSampleModel();
+        return buffer.getNumBanks() == 1 && buffer.getOffset() == 0 && raster.getParent() == null
+                && raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0
+                && model.getScanlineStride() == image.getWidth()
+                && buffer.getSize() == image.getWidth() * image.getHeight();
+    }
+
+    private static int[] pixels(BufferedImage image) {
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
     public static Image loadTileImage(String tileId) throws IOException {
         String folderEdtions = ConfigLoader.getInstance().getProperty("folders.editions");
         String tileImages = ConfigLoader.getInstance().getProperty("folders.tileImages");
@@ -49,7 +221,7 @@ public class ImageOperations {
         return ImageIO.read(new File(imagePath));
     }
 
-    public static Image copyImage(Image img) {
+    public static BufferedImage copyImage(Image img) {
         if (img == null) {
             return null;
         }
@@ -57,8 +229,7 @@ public class ImageOperations {
         int w = img.getWidth(null);
         int h = img.getHeight(null);
 
-        java.awt.image.BufferedImage newImage = new java.awt.image.BufferedImage(w, h,
-                java.awt.image.BufferedImage.TYPE_INT_ARGB);
+        BufferedImage newImage = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
         java.awt.Graphics2D g2d = newImage.createGraphics();
         g2d.drawImage(img, 0, 0, null);
         g2d.dispose();
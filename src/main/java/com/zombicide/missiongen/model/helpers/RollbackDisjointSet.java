@@ -0,0 +1,85 @@
+package com.zombicide.missiongen.model.helpers;
+
+/**
+ * Union-find over int handles 0..size-1 whose unions can be undone in LIFO
+ * order, for backtracking searches. It uses union by size without path
+ * compression, so find is O(log n) and every union changes exactly one parent.
+ */
+public class RollbackDisjointSet {
+
+    private final int[] parent;
+    private final int[] size;
+    // roots attached by each union, oldest first
+    private final int[] history;
+    private int unions;
+
+    public RollbackDisjointSet(int elements) {
+        this.parent = new int[elements];
+        this.size = new int[elements];
+        this.history = new int[Math.max(0, elements - 1)];
+        for (int i = 0; i < elements; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+    }
+
+    public int size() {
+        return parent.length;
+    }
+
+    public int find(int element) {
+        while (parent[element] != element) {
+            element = parent[element];
+        }
+        return element;
+    }
+
+    /**
+     * @return true if the two elements were in different sets
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (size[rootA] < size[rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        history[unions++] = rootB;
+        return true;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * Number of elements in the set of the element.
+     */
+    public int setSize(int element) {
+        return size[find(element)];
+    }
+
+    /**
+     * Position to roll back to; the number of unions done so far.
+     */
+    public int mark() {
+        return unions;
+    }
+
+    /**
+     * Undoes every union done after the mark was taken.
+     */
+    public void rollback(int mark) {
+        while (unions > mark) {
+            int root = history[--unions];
+            size[parent[root]] -= size[root];
+            parent[root] = root;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.zombicide.missiongen.model.helpers;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zombicide.missiongen.config.ConfigLoader;
+
+/**
+ * Process-wide cache of decoded tile images, keyed by image path and rotation
+ * and holding the image already rotated. Entries are evicted least recently
+ * used first once their rasters exceed the byte budget. A rotation missing
+ * from the cache is derived from the unrotated image when that one is cached,
+ * so only a path never seen before reads the disk.
+ * The returned images are shared: callers draw them but never modify them.
+ */
+public class TileImageCache {
+
+    private static final long DEFAULT_MAX_MEGABYTES = 256;
+
+    private static TileImageCache instance;
+
+    private final long maxBytes;
+    // access ordered, the eldest entry is the least recently used
+    private final LinkedHashMap<String, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes;
+    private long hits;
+    private long misses;
+    private long diskReads;
+    private long evictions;
+
+    private static final Logger logger = LoggerFactory.getLogger(TileImageCache.class);
+
+    public TileImageCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache budget must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets the shared cache, sized by the cache.tileImages.maxMegabytes
+     * property.
+     */
+    public static synchronized TileImageCache getInstance() {
+        if (instance == null) {
+            long megabytes = Long.parseLong(ConfigLoader.getInstance().getProperty("cache.tileImages.maxMegabytes",
+                    String.valueOf(DEFAULT_MAX_MEGABYTES)).trim());
+            instance = new TileImageCache(megabytes * 1024 * 1024);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the image at the path turned the given degrees clockwise, decoding
+     * and rotating it on a miss. Decoding runs outside the lock so several
+     * threads can load different tiles at once.
+     *
+     * @throws IOException if the image cannot be read
+     */
+    public BufferedImage get(String imagePath, int rotation) throws IOException {
+        int degrees = Math.floorMod(rotation, 360);
+        String key = key(imagePath, degrees);
+        BufferedImage unrotated;
+        synchronized (this) {
+            BufferedImage image = images.get(key);
+            if (image != null) {
+                hits++;
+                return image;
+            }
+            misses++;
+            unrotated = degrees == 0 ? null : images.get(key(imagePath, 0));
+        }
+        if (unrotated == null) {
+            unrotated = read(imagePath);
+            if (degrees != 0) {
+                put(key(imagePath, 0), unrotated);
+            }
+        }
+        BufferedImage image = degrees == 0 ? unrotated
+                : (BufferedImage) ImageOperations.rotateImage(unrotated, degrees);
+        return put(key, image);
+    }
+
+    private BufferedImage read(String imagePath) throws IOException {
+        BufferedImage decoded = ImageIO.read(new File(imagePath));
+        if (decoded == null) {
+            throw new IOException("No image reader for " + imagePath);
+        }
+        synchronized (this) {
+            diskReads++;
+        }
+        // rotateImage by 0 copies into a packed int image like the rotated entries
+        return (BufferedImage) ImageOperations.rotateImage(decoded, 0);
+    }
+
+    /**
+     * @return the cached image, which is the one of another thread if it
+     *         loaded the same key first
+     */
+    private synchronized BufferedImage put(String key, BufferedImage image) {
+        BufferedImage cached = images.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        images.put(key, image);
+        sizeBytes += sizeOf(image);
+        Iterator<Map.Entry<String, BufferedImage>> eldest = images.entrySet().iterator();
+        // keep at least the entry just added, even if it alone exceeds the budget
+        while (sizeBytes > maxBytes && images.size() > 1) {
+            Map.Entry<String, BufferedImage> entry = eldest.next();
+            sizeBytes -= sizeOf(entry.getValue());
+            eldest.remove();
+            evictions++;
+        }
+        return image;
+    }
+
+    private static String key(String imagePath, int degrees) {
+        return degrees + ":" + imagePath;
+    }
+
+    static long sizeOf(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType())
+                / 8;
+    }
+
+    public synchronized void clear() {
+        images.clear();
+        sizeBytes = 0;
+        logger.info("Tile image cache cleared");
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Images decoded from disk, a miss served from the cached unrotated image
+     * does not count.
+     */
+    public synchronized long getDiskReads() {
+        return diskReads;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized int size() {
+        return images.size();
+    }
+}
@@ -3,7 +3,6 @@ package com.zombicide.missiongen.model.tokens;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.Point;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.util.HashMap;
 import java.util.List;
@@ -11,6 +10,7 @@ import java.util.Map;
 import java.util.UUID;
 
 import com.zombicide.missiongen.config.TokenLoader;
+import com.zombicide.missiongen.model.helpers.ImageOperations;
 
 public abstract class Token {
 
@@ -24,6 +24,8 @@ public abstract class Token {
     String subtype; // The subtype of the token
     int rotation;
     Map<String, String> properties; // Type-specific properties
+    private boolean ownsImage; // whether image was allocated by this token
+    private BufferedImage spareImage; // previous image, target of the next rotation
 
     public Token(TokenType type, TokenShape shape, TokenOrientation orientation,
             String subtype, Image image) {
@@ -92,44 +94,12 @@ public abstract class Token {
 
     // rotate the image of the token 90 degrees clockwise
     private Image rotateImage() {
-        BufferedImage originalImage = toBufferedImage(this.image);
-        // 1. Get original dimensions
-        int width = originalImage.getWidth();
-        int height = originalImage.getHeight();
-
-        // 2. Create the new BufferedImage with swapped dimensions
-        // The width of the new image is the height of the original, and vice-versa.
-        BufferedImage rotatedImage = new BufferedImage(height, width, originalImage.getType());
-
-        // 3. Get the Graphics2D context for drawing onto the new image
-        Graphics2D g2d = rotatedImage.createGraphics();
-
-        // 4. Create the rotation transformation
-        AffineTransform transform = new AffineTransform();
-
-        // Step 4a: Rotate 90 degrees (Math.PI / 2 radians)
-        // The rotation is centered at (0, 0) for the coordinate system.
-        transform.rotate(Math.toRadians(90));
-
-        // Step 4b: Translate the image to the correct position
-        // After rotating 90 clockwise, the original image's top-left corner (0,0)
-        // moves to (new_width, 0), which is (height, 0).
-        // To bring it into the visible area of the new image, we translate by `height`
-        // in the X direction (or new image's width).
-        transform.translate(0, -width); // The correct translation is often a bit tricky.
-        // If we use the rotation center at (0,0), a 90-degree clockwise rotation
-        // moves the original point (x, y) to (y, -x).
-        // The image now has a negative y-coordinate. We must translate it back.
-        // A simpler approach is:
-        g2d.translate(height, 0); // Move origin to top-right corner of the new canvas
-        g2d.rotate(Math.toRadians(90)); // Rotate 90 clockwise
-
-        // 5. Draw the original image onto the new image using the transformation
-        g2d.drawImage(originalImage, 0, 0, null);
-
-        // 6. Dispose the Graphics2D context
-        g2d.dispose();
-
+        // the loaded image may be shared with other tokens, only the images this
+        // token rotated itself are reused, so from the second turn on no image is allocated
+        BufferedImage rotatedImage = ImageOperations.rotateQuarterTurns(toBufferedImage(this.image), 1,
+                this.spareImage);
+        this.spareImage = this.ownsImage ? (BufferedImage) this.image : null;
+        this.ownsImage = true;
         return rotatedImage;
     }
 
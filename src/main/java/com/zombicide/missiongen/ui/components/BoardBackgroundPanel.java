@@ -6,7 +6,6 @@ import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.Image;
 import java.awt.Point;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -228,12 +227,10 @@ public class BoardBackgroundPanel extends ZoneDrawPanel {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
 
-        if (this.getBoard() == null || this.getBoard().getImage() == null) {
+        if (this.getBoard() == null || !this.getBoard().hasImage()) {
             return;
         }
 
-        Image image = this.getBoard().getImage();
-
         // --- 1. Get Dimensions ---
         int panelWidth = getWidth();
         int panelHeight = getHeight();
@@ -266,7 +263,7 @@ public class BoardBackgroundPanel extends ZoneDrawPanel {
         // Use the drawImage method with target dimensions:
         // g.drawImage(Image img, int x, int y, int width, int height, ImageObserver
         // observer)
-        g.drawImage(image, x, y, scaledWidth, scaledHeight, this);
+        this.getBoard().drawImage((Graphics2D) g, x, y, scaledWidth, scaledHeight, this);
 
         if (this.isAreaDrawingVisible()) {
             drawBoardAreas(g);
@@ -6,8 +6,13 @@ import java.awt.GridBagLayout;
 import java.awt.GridLayout;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.SwingWorker;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +20,8 @@ import org.slf4j.LoggerFactory;
 import com.zombicide.missiongen.config.ConfigLoader;
 import com.zombicide.missiongen.model.board.MissionGrid;
 import com.zombicide.missiongen.model.board.TileBoard;
+import com.zombicide.missiongen.model.generation.LayoutCompleter;
+import com.zombicide.missiongen.model.generation.TilePool;
 import com.zombicide.missiongen.ui.components.ZoneDrawPanel;
 import com.zombicide.missiongen.ui.interfaces.MissionLayoutUpdate;
 
@@ -32,6 +39,10 @@ public class ZoneMissionGrid extends ZoneDrawPanel
 
     private boolean missionLayoutValid = true;
 
+    // search time of the auto-complete, loading the pool is not included
+    private static final Duration AUTO_COMPLETE_BUDGET = Duration.ofMillis(100);
+    private AutoCompleteWorker autoCompleteWorker;
+
     private static final Logger logger = LoggerFactory.getLogger(ZoneMissionGrid.class);
 
     private MissionLayoutUpdate listener;
@@ -45,6 +56,7 @@ public class ZoneMissionGrid extends ZoneDrawPanel
     }
 
     public void reset(int width, int height) {
+        cancelAutoComplete();
 
         // remove all elements from gridCells
         if (this.gridCells != null) {
@@ -167,6 +179,7 @@ public class ZoneMissionGrid extends ZoneDrawPanel
         if (this.selectedTile == null) {
             return;
         }
+        cancelAutoComplete();
 
         // Check if cell is already occupied? User said "only 1 tile of each type in the
         // grid".
@@ -188,7 +201,8 @@ public class ZoneMissionGrid extends ZoneDrawPanel
         this.missionGrid.setBoard(x, y, this.selectedTile);
         this.missionLayoutValid = this.missionGrid.validate();
         logger.info("Mission layout valid: {}", this.missionLayoutValid);
-        this.gridCells[y][x].setCellBackground(this.selectedTile.getImage());
+        this.gridCells[y][x].setCellBackground(this.selectedTile.getOriginalImage(),
+                this.selectedTile.getRotation() / 90);
         // Validation can be added later if needed
         // this.missionGrid.validate();
         paintGrid();
@@ -206,6 +220,7 @@ public class ZoneMissionGrid extends ZoneDrawPanel
     @Override
     public void onGridDoubleClick(int x, int y) {
         logger.info("Double click on cell {} {}", x, y);
+        cancelAutoComplete();
         removeBoardFromGrid(x, y);
     }
 
@@ -244,8 +259,12 @@ public class ZoneMissionGrid extends ZoneDrawPanel
         logger.info("Right click on cell {} {}", x, y);
         TileBoard selectedBoard = this.missionGrid.getBoard(x, y);
         if (selectedBoard != null) {
+            cancelAutoComplete();
             selectedBoard.rotate();
-            this.gridCells[y][x].setCellBackground(selectedBoard.getImage());
+            // set it again so the grid recounts the edges of the rotated board
+            this.missionGrid.setBoard(x, y, selectedBoard);
+            // the cell turns the original image, rotating allocates no image
+            this.gridCells[y][x].setCellBackground(selectedBoard.getOriginalImage(), selectedBoard.getRotation() / 90);
             this.missionLayoutValid = this.missionGrid.validate();
             logger.info("After Rotate: Mission layout valid: {}", this.missionLayoutValid);
             paintGrid();
@@ -253,4 +272,88 @@ public class ZoneMissionGrid extends ZoneDrawPanel
         }
     }
 
+    /**
+     * Fills the empty cells with tiles of the pool that match the placed ones.
+     * The search runs in the background and is cancelled by any edit of the
+     * grid made before it finishes.
+     */
+    public void autoComplete(Supplier<TilePool> poolSupplier) {
+        cancelAutoComplete();
+        if (this.missionGrid.isComplete()) {
+            return;
+        }
+        // the worker only sees this copy, the grid stays editable meanwhile
+        this.autoCompleteWorker = new AutoCompleteWorker(poolSupplier,
+                new LayoutCompleter.PlacedTiles(this.missionGrid));
+        this.autoCompleteWorker.execute();
+    }
+
+    private void cancelAutoComplete() {
+        if (this.autoCompleteWorker != null) {
+            this.autoCompleteWorker.cancel(true);
+            this.autoCompleteWorker = null;
+        }
+    }
+
+    private void applyCompletion(TilePool pool, LayoutCompleter.Result result) {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (this.missionGrid.getBoard(col, row) != null) {
+                    continue;
+                }
+                int cell = row * cols + col;
+                TileBoard board = pool.createRotatedBoard(result.tiles[cell], result.rotations[cell]);
+                this.missionGrid.setBoard(col, row, board);
+                this.gridCells[row][col].setCellBackground(board.getOriginalImage(), board.getRotation() / 90);
+                fireTilePlaced(col, row, board);
+            }
+        }
+        this.missionLayoutValid = this.missionGrid.validate();
+        logger.info("After Auto-complete: Mission layout valid: {}", this.missionLayoutValid);
+        paintGrid();
+        this.listener.onMissionGridUpdated(this.missionGrid);
+    }
+
+    private class AutoCompleteWorker extends SwingWorker<LayoutCompleter.Result, Void> {
+        private final Supplier<TilePool> poolSupplier;
+        private final LayoutCompleter.PlacedTiles placed;
+        private TilePool pool;
+
+        AutoCompleteWorker(Supplier<TilePool> poolSupplier, LayoutCompleter.PlacedTiles placed) {
+            this.poolSupplier = poolSupplier;
+            this.placed = placed;
+        }
+
+        @Override
+        protected LayoutCompleter.Result doInBackground() {
+            this.pool = poolSupplier.get();
+            return new LayoutCompleter(pool, placed).complete(AUTO_COMPLETE_BUDGET, System.nanoTime());
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled() || autoCompleteWorker != this) {
+                return;
+            }
+            autoCompleteWorker = null;
+            try {
+                LayoutCompleter.Result result = get();
+                if (result.isComplete()) {
+                    applyCompletion(pool, result);
+                } else {
+                    JOptionPane.showMessageDialog(ZoneMissionGrid.this,
+                            result.timedOut ? "No completion found in time, try again"
+                                    : "The placed tiles cannot be completed",
+                            "Auto-complete", JOptionPane.INFORMATION_MESSAGE);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                logger.error("Auto-complete failed", e.getCause());
+                JOptionPane.showMessageDialog(ZoneMissionGrid.this, e.getCause().getMessage(), "Error",
+                        JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+
 }
@@ -12,11 +12,14 @@ import javax.swing.BorderFactory;
 import javax.swing.JPanel;
 
 import com.zombicide.missiongen.config.ConfigLoader;
+import com.zombicide.missiongen.model.helpers.ImageOperations;
 import com.zombicide.missiongen.ui.interfaces.GridClickListener;
 
 public class ZoneMissionGridCell extends JPanel {
 
     private Image cellBackground;
+    // quarter turns applied to cellBackground when painting
+    private int cellBackgroundTurns;
     private Image emptyBackground;
 
     private boolean missionLayoutValid = true;
@@ -44,7 +47,16 @@ public class ZoneMissionGridCell extends JPanel {
     }
 
     public void setCellBackground(Image cellBackground) {
+        setCellBackground(cellBackground, 0);
+    }
+
+    /**
+     * Paints the image turned the given quarter turns clockwise, so a rotated
+     * board can pass its unrotated image.
+     */
+    public void setCellBackground(Image cellBackground, int quarterTurns) {
         this.cellBackground = cellBackground;
+        this.cellBackgroundTurns = quarterTurns;
     }
 
     public void setEmptyBackground(Image emptyBackground) {
@@ -58,9 +70,8 @@ public class ZoneMissionGridCell extends JPanel {
         int width = getWidth();
         int height = getHeight();
 
-        // g2d.rotate(Math.toRadians(rotation), width / 2.0, height / 2.0);
         if (cellBackground != null) {
-            g2d.drawImage(this.cellBackground, 0, 0, width, height, this);
+            ImageOperations.drawRotated(g2d, this.cellBackground, this.cellBackgroundTurns, 0, 0, width, height, this);
         } else {
             g2d.drawImage(this.emptyBackground, 0, 0, width, height, this);
         }
@@ -4,6 +4,7 @@ import java.util.Collections;
 import java.util.Vector;
 
 import com.zombicide.missiongen.model.Tile;
+import com.zombicide.missiongen.model.generation.TilePool;
 import com.zombicide.missiongen.ui.components.ZonePropertiesPanel;
 import com.zombicide.missiongen.ui.interfaces.MissionLayoutUpdate;
 
@@ -20,6 +21,7 @@ public class ZoneMissionGridProperties extends ZonePropertiesPanel
     private javax.swing.JRadioButton rb4x3;
     private javax.swing.JRadioButton rb4x4;
     private javax.swing.ButtonGroup bgGridSize;
+    private javax.swing.JButton autoCompleteButton;
 
     private javax.swing.JList<String> tilesList;
     private javax.swing.DefaultListModel<String> tilesListModel;
@@ -32,6 +34,9 @@ public class ZoneMissionGridProperties extends ZonePropertiesPanel
     private com.zombicide.missiongen.services.PersistanceService persistanceService;
     private String currentEdition;
     private String currentCollection;
+    // loaded on the first auto-complete of the selected collection
+    private TilePool tilePool;
+    private String tilePoolKey;
 
     public ZoneMissionGridProperties(MissionLayoutUpdate listener, ZoneMissionGrid zoneMissionGrid) {
         super();
@@ -68,6 +73,9 @@ public class ZoneMissionGridProperties extends ZonePropertiesPanel
 
         rb2x2.setSelected(true);
 
+        autoCompleteButton = new javax.swing.JButton("Auto-complete");
+        autoCompleteButton.setToolTipText("Fill the empty cells with tiles that match the placed ones");
+
         // Tiles List
         tilesListModel = new javax.swing.DefaultListModel<>();
         tilesList = new javax.swing.JList<>(tilesListModel);
@@ -87,6 +95,14 @@ public class ZoneMissionGridProperties extends ZonePropertiesPanel
         rb4x3.addActionListener(actionListener);
         rb4x4.addActionListener(actionListener);
 
+        autoCompleteButton.addActionListener(e -> {
+            String edition = currentEdition;
+            String collection = currentCollection;
+            if (edition != null && collection != null) {
+                zoneMissionGrid.autoComplete(() -> getTilePool(edition, collection));
+            }
+        });
+
         // Mission name listener
         missionNameField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
             @Override
@@ -215,6 +231,10 @@ public class ZoneMissionGridProperties extends ZonePropertiesPanel
         gbc.gridy++;
         add(rb4x4, gbc);
 
+        gbc.gridy++;
+        gbc.insets = new java.awt.Insets(15, 5, 5, 5);
+        add(autoCompleteButton, gbc);
+
         // Push everything to the top
         gbc.gridy++;
         gbc.insets = new java.awt.Insets(15, 5, 5, 5);
@@ -231,6 +251,15 @@ public class ZoneMissionGridProperties extends ZonePropertiesPanel
         return missionNameField.getText();
     }
 
+    private synchronized TilePool getTilePool(String edition, String collection) {
+        String key = edition + "." + collection;
+        if (tilePool == null || !key.equals(tilePoolKey)) {
+            tilePool = TilePool.fromCollection(persistanceService, edition, collection);
+            tilePoolKey = key;
+        }
+        return tilePool;
+    }
+
     private void loadTiles() {
         tilesListModel.clear();
         if (currentEdition != null && currentCollection != null) {
@@ -244,15 +273,13 @@ public class ZoneMissionGridProperties extends ZonePropertiesPanel
     // TileGridListener implementation
     @Override
     public void onTilePlaced(int row, int col, com.zombicide.missiongen.model.board.TileBoard tileBoard) {
-        // Remove from list if present (assuming tileBoard has info to identify it, or
-        // we rely on logic)
-        // Since TileBoard doesn't strictly have the tile name in a simple way
-        // accessible here without casting or checking
-        // We might need to know WHICH tile was placed.
-        // The ZoneMissionGrid knows the tile.
-        // Actually, we remove the SELECTED tile from the list when it's placed.
+        // the placed tile leaves the list, whether it was selected or auto-completed
+        String tileName = getTileName(tileBoard);
+        if (tileName != null) {
+            tilesListModel.removeElement(tileName);
+        }
         String selected = tilesList.getSelectedValue();
-        if (selected != null) {
+        if (selected != null && (tileName == null || selected.equals(tileName))) {
             tilesListModel.removeElement(selected);
             tilesList.clearSelection();
             // Notify that no tile is selected?
@@ -263,29 +290,31 @@ public class ZoneMissionGridProperties extends ZonePropertiesPanel
     @Override
     public void onTileRemoved(int row, int col, com.zombicide.missiongen.model.board.TileBoard tileBoard) {
         // Add back to list
-        if (tileBoard != null) {
-            String boardId = tileBoard.getBoardId();
-            // boardId format: edition.collection.tileName
-            // We want to extract tileName
-            if (boardId != null && currentEdition != null && currentCollection != null) {
-                String prefix = currentEdition + "." + currentCollection + ".";
-                if (boardId.startsWith(prefix)) {
-                    String tileName = boardId.substring(prefix.length());
-                    addTileBack(tileName);
-                } else {
-                    // Fallback: try to split by dots and take last part, or just use boardId if it
-                    // doesn't match
-                    // This handles cases where maybe edition/collection changed?
-                    // But if edition changed, the list would be reloaded anyway.
-                    // So just logging warning if it doesn't match might be enough, or try to
-                    // recover.
-                    String[] parts = boardId.split("\\.");
-                    if (parts.length > 0) {
-                        addTileBack(parts[parts.length - 1]);
-                    }
-                }
+        addTileBack(getTileName(tileBoard));
+    }
+
+    private String getTileName(com.zombicide.missiongen.model.board.TileBoard tileBoard) {
+        if (tileBoard == null) {
+            return null;
+        }
+        String boardId = tileBoard.getBoardId();
+        // boardId format: edition.collection.tileName
+        // We want to extract tileName
+        if (boardId != null && currentEdition != null && currentCollection != null) {
+            String prefix = currentEdition + "." + currentCollection + ".";
+            if (boardId.startsWith(prefix)) {
+                return boardId.substring(prefix.length());
+            }
+            // Fallback: try to split by dots and take last part, or just use boardId if it
+            // doesn't match
+            // This handles cases where maybe edition/collection changed?
+            // But if edition changed, the list would be reloaded anyway.
+            String[] parts = boardId.split("\\.");
+            if (parts.length > 0) {
+                return parts[parts.length - 1];
             }
         }
+        return null;
     }
 
     public void addTileBack(String tileName) {
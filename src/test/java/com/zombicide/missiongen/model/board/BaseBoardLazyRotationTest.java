@@ -0,0 +1,98 @@
+package com.zombicide.missiongen.model.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.areas.BoardArea;
+
+/**
+ * Test suite for boards that keep their loaded image and rotate it only when
+ * drawn.
+ */
+public class BaseBoardLazyRotationTest {
+
+    private static final int SIZE = 6;
+
+    private static BufferedImage createImage() {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                image.setRGB(x, y, 0xFF000000 | (x * 40 << 8) | y * 40);
+            }
+        }
+        return image;
+    }
+
+    @Test
+    public void testRotationKeepsTheLoadedImage() {
+        BufferedImage image = createImage();
+        TileBoard board = new TileBoard("test.lazy.1V", image, SIZE, null);
+
+        for (int turn = 1; turn <= 4; turn++) {
+            board.rotate();
+            assertSame(image, board.getOriginalImage());
+            assertEquals(turn * 90 % 360, board.getRotation());
+        }
+        assertSame(image, board.getImage());
+    }
+
+    @Test
+    public void testImageAndDrawingFollowTheRotation() {
+        BufferedImage image = createImage();
+        TileBoard board = new TileBoard("test.lazy.1V", image, SIZE, null);
+        board.rotate();
+
+        // the top-left pixel turns to the top-right
+        BufferedImage rotated = (BufferedImage) board.getImage();
+        assertEquals(image.getRGB(0, 0), rotated.getRGB(SIZE - 1, 0));
+        assertEquals(image.getRGB(0, SIZE - 1), rotated.getRGB(0, 0));
+
+        BufferedImage canvas = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = canvas.createGraphics();
+        board.drawImage(g2d, 0, 0, SIZE, SIZE, null);
+        g2d.dispose();
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                assertEquals(rotated.getRGB(x, y), canvas.getRGB(x, y));
+            }
+        }
+
+        // asked again at a half turn, the same image is rewritten
+        board.rotate();
+        board.rotate();
+        board.rotate();
+        board.rotate();
+        board.rotate();
+        assertSame(rotated, board.getImage());
+        assertEquals(image.getRGB(SIZE - 1, 0), rotated.getRGB(0, SIZE - 1));
+    }
+
+    @Test
+    public void testCopiesShareTheLoadedImage() {
+        BufferedImage image = createImage();
+        TileBoard board = new TileBoard("test.lazy.1V", image, SIZE, null);
+        board.rotate();
+        TileBoard copy = new TileBoard(board);
+
+        assertSame(image, copy.getOriginalImage());
+        assertEquals(90, copy.getRotation());
+    }
+
+    @Test
+    public void testBoardWithoutImageStillRotatesItsAreas() {
+        TileBoard board = new TileBoard("test.lazy.2V", null, SIZE, null);
+        board.addArea(new BoardArea(UUID.randomUUID(), new Point(0, 0), 2, 2, AreaLocation.TOP_MIDDLE_STREET));
+        board.rotate();
+
+        assertEquals(90, board.getRotation());
+        assertEquals(AreaLocation.TOP_MIDDLE_STREET.rotate(), board.getAreas().get(0).getAreaLocation());
+    }
+}
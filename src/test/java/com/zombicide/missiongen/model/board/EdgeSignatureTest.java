@@ -0,0 +1,83 @@
+package com.zombicide.missiongen.model.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.areas.Direction;
+import com.zombicide.missiongen.model.helpers.TileOperations;
+import com.zombicide.missiongen.model.helpers.TileOperations.MirrorStreetLocation;
+
+/**
+ * Test suite for the precomputed street signatures.
+ * The bitwise checks must give the same answer as the street mirroring rules.
+ */
+public class EdgeSignatureTest {
+
+    private boolean mirrorRule(int signature, int neighbourSignature, Direction direction) {
+        for (AreaLocation location : AreaLocation.getStreetLocations()) {
+            for (MirrorStreetLocation mirror : TileOperations.getNeighbouringStreetLocation(location)) {
+                if (mirror.direction == direction && EdgeSignature.has(signature, location) != EdgeSignature
+                        .has(neighbourSignature, mirror.location)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Test
+    public void testCompatibleMatchesMirrorRules() {
+        for (int a = 0; a < 256; a++) {
+            for (int b = 0; b < 256; b++) {
+                for (Direction direction : Direction.values()) {
+                    assertEquals("Signature " + a + " next to " + b + " at " + direction,
+                            mirrorRule(a, b, direction), EdgeSignature.compatible(a, b, direction));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSignatureFollowsBoardRotation() {
+        TileBoard board = TestBoards.createBoard("board-1", AreaLocation.TOP_RIGHT_STREET,
+                AreaLocation.MIDDLE_RIGHT_STREET, AreaLocation.BOTTOM_RIGHT_STREET, AreaLocation.BOTTOM_MIDDLE_STREET);
+        int expected = board.getEdgeSignature(1);
+
+        board.rotate();
+
+        assertEquals("Rotating the board should give the precomputed rotation", expected, board.getEdgeSignature());
+        assertTrue("Rotated board has BOTTOM_LEFT street",
+                EdgeSignature.has(board.getEdgeSignature(), AreaLocation.BOTTOM_LEFT_STREET));
+    }
+
+    @Test
+    public void testSignatureUpdatesWhenAreasChange() {
+        TileBoard board = TestBoards.createBoard("board-1");
+        assertEquals("No street locations", 0, board.getEdgeSignature());
+
+        board.addAreaLocation(AreaLocation.MIDDLE_LEFT_STREET);
+
+        assertEquals("Street location added", EdgeSignature.bit(AreaLocation.MIDDLE_LEFT_STREET),
+                board.getEdgeSignature());
+        assertEquals("West side contains the street",
+                EdgeSignature.bit(AreaLocation.MIDDLE_LEFT_STREET),
+                EdgeSignature.side(board.getEdgeSignature(), Direction.WEST));
+    }
+
+    @Test
+    public void testValidateUsesSignatures() {
+        MissionGrid grid = new MissionGrid(2, 1);
+        grid.setBoard(0, 0, TestBoards.createBoard("left", AreaLocation.MIDDLE_RIGHT_STREET));
+        grid.setBoard(1, 0, TestBoards.createBoard("right"));
+
+        assertFalse("Street ending on an indoor side is invalid", grid.validate());
+
+        grid.setBoard(1, 0, TestBoards.createBoard("right", AreaLocation.MIDDLE_LEFT_STREET));
+
+        assertTrue("Mirrored streets are valid", grid.validate());
+    }
+}
@@ -0,0 +1,67 @@
+package com.zombicide.missiongen.model.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+
+/**
+ * Test suite for the union-find merge sets of MissionAreaIndex.
+ */
+public class MissionAreaIndexTest {
+
+    @Test
+    public void testCornerSharedByFourTilesIsOneGroup() {
+        MissionGrid grid = new MissionGrid(2, 2);
+        TileBoard topLeft = TestBoards.createBoard("topLeft", AreaLocation.BOTTOM_RIGHT_STREET);
+        TileBoard bottomRight = TestBoards.createBoard("bottomRight", AreaLocation.TOP_LEFT_STREET);
+        grid.setBoard(0, 0, topLeft);
+        grid.setBoard(1, 0, TestBoards.createBoard("topRight", AreaLocation.BOTTOM_LEFT_STREET));
+        grid.setBoard(0, 1, TestBoards.createBoard("bottomLeft", AreaLocation.TOP_RIGHT_STREET));
+        grid.setBoard(1, 1, bottomRight);
+
+        List<Set<UUID>> groups = grid.getAreasToMerge();
+
+        assertEquals("The shared corner is a single group", 1, groups.size());
+        assertEquals("One area per tile", 4, groups.get(0).size());
+        assertTrue(groups.get(0).contains(topLeft.getAreaByAreaLocation(AreaLocation.BOTTOM_RIGHT_STREET).getAreaId()));
+        assertTrue(groups.get(0).contains(bottomRight.getAreaByAreaLocation(AreaLocation.TOP_LEFT_STREET).getAreaId()));
+    }
+
+    @Test
+    public void testUnmatchedAndIndoorAreasAreNotMerged() {
+        MissionGrid grid = new MissionGrid(2, 1);
+        TileBoard left = TestBoards.createBoard("left", AreaLocation.TOP_RIGHT_STREET, AreaLocation.OTHER);
+        grid.setBoard(0, 0, left);
+        grid.setBoard(1, 0, TestBoards.createBoard("right", AreaLocation.BOTTOM_LEFT_STREET));
+
+        MissionAreaIndex index = grid.getAreaIndex();
+
+        assertEquals("Every area has a handle", 3, index.size());
+        for (int handle = 0; handle < index.size(); handle++) {
+            assertFalse(index.isMerged(handle));
+        }
+        assertTrue(grid.getAreasToMerge().isEmpty());
+    }
+
+    @Test
+    public void testHandlesKeepTheirCell() {
+        MissionGrid grid = new MissionGrid(2, 2);
+        grid.setBoard(1, 1, TestBoards.createBoard("corner", AreaLocation.TOP_LEFT_STREET));
+        grid.setBoard(0, 0, TestBoards.createBoard("diagonal", AreaLocation.BOTTOM_RIGHT_STREET));
+
+        MissionAreaIndex index = grid.getAreaIndex();
+
+        assertEquals(2, index.size());
+        assertEquals(0, index.getCol(0));
+        assertEquals(1, index.getRow(1));
+        assertEquals("Diagonal corner streets merge", index.find(0), index.find(1));
+    }
+}
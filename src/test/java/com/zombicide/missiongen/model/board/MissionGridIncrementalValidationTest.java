@@ -0,0 +1,87 @@
+package com.zombicide.missiongen.model.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+
+/**
+ * Test suite for the running edge counts kept by MissionGrid.setBoard.
+ */
+public class MissionGridIncrementalValidationTest {
+
+    @Test
+    public void testCompletenessIsTracked() {
+        MissionGrid grid = new MissionGrid(2, 1);
+        assertFalse("Empty grid is not complete", grid.isCompleteAndValid());
+
+        grid.setBoard(0, 0, TestBoards.createBoard("a"));
+        grid.setBoard(1, 0, TestBoards.createBoard("b"));
+        assertTrue("Two street-less boards are complete and valid", grid.isCompleteAndValid());
+
+        grid.setBoard(1, 0, null);
+        assertFalse("Removing a board makes the grid incomplete", grid.isComplete());
+    }
+
+    @Test
+    public void testOverwriteAndRemoveUpdateViolations() {
+        MissionGrid grid = new MissionGrid(2, 1);
+        grid.setBoard(0, 0, TestBoards.createBoard("left", AreaLocation.MIDDLE_RIGHT_STREET));
+        grid.setBoard(1, 0, TestBoards.createBoard("right"));
+        assertEquals("One violated pair", 1, grid.getViolatedEdges());
+
+        grid.setBoard(1, 0, TestBoards.createBoard("right", AreaLocation.MIDDLE_LEFT_STREET));
+        assertEquals("Overwriting fixes the pair", 0, grid.getViolatedEdges());
+
+        grid.setBoard(1, 0, TestBoards.createBoard("right"));
+        grid.setBoard(0, 0, null);
+        assertTrue("Removing the street board leaves a valid grid", grid.validate());
+    }
+
+    @Test
+    public void testBoardRotatedInPlaceIsRecountedWhenSetAgain() {
+        MissionGrid grid = new MissionGrid(2, 1);
+        TileBoard left = TestBoards.createBoard("left", AreaLocation.TOP_MIDDLE_STREET);
+        grid.setBoard(0, 0, left);
+        grid.setBoard(1, 0, TestBoards.createBoard("right", AreaLocation.MIDDLE_LEFT_STREET));
+        assertFalse("West street of the right board has no mirror", grid.validate());
+
+        // TOP_MIDDLE -> MIDDLE_RIGHT
+        left.rotate();
+        grid.setBoard(0, 0, left);
+
+        assertTrue("Rotated board now mirrors its neighbour", grid.validate());
+    }
+
+    @Test
+    public void testIncrementalCountsMatchFullRebuild() {
+        AreaLocation[] streets = AreaLocation.getStreetLocations().toArray(new AreaLocation[0]);
+        Random random = new Random(42);
+        MissionGrid grid = new MissionGrid(3, 3);
+        for (int step = 0; step < 500; step++) {
+            int x = random.nextInt(3);
+            int y = random.nextInt(3);
+            TileBoard board = null;
+            if (random.nextInt(4) > 0) {
+                board = TestBoards.createBoard("b" + step, streets[random.nextInt(streets.length)],
+                        streets[random.nextInt(streets.length)]);
+            }
+            grid.setBoard(x, y, board);
+
+            TileBoard[][] boards = new TileBoard[3][3];
+            for (int row = 0; row < 3; row++) {
+                for (int col = 0; col < 3; col++) {
+                    boards[row][col] = grid.getBoard(col, row);
+                }
+            }
+            MissionGrid rebuilt = new MissionGrid(boards);
+            assertEquals("Step " + step, rebuilt.getViolatedEdges(), grid.getViolatedEdges());
+            assertEquals("Step " + step, rebuilt.isComplete(), grid.isComplete());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.zombicide.missiongen.model.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.zombicide.missiongen.model.helpers.TestImages;
+
+/**
+ * Test suite for loading the tile images of a mission grid in parallel.
+ */
+public class MissionTileImagesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String writeTile(String name) throws IOException {
+        return TestImages.writeTile(folder, name, 10, (x, y) -> 0);
+    }
+
+    @Test
+    public void testFailedTilesAreReportedOneByOne() throws IOException {
+        String missing = new File(folder.getRoot(), "missing.png").getPath();
+        MissionTileEntry[][] entries = new MissionTileEntry[3][3];
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                String name = "tile" + row + col;
+                entries[row][col] = new MissionTileEntry(name, writeTile(name), 90 * col, row, col);
+            }
+        }
+        entries[0][2] = new MissionTileEntry("broken.a", missing, 0, 0, 2);
+        entries[2][1] = new MissionTileEntry("broken.b", missing, 180, 2, 1);
+        entries[1][1] = null;
+
+        List<MissionFactoryService.TileImageFailure> failures = new ArrayList<>();
+        BufferedImage[][] images = MissionFactoryService.loadTileImages(entries, failures);
+
+        assertEquals(2, failures.size());
+        assertEquals("broken.a", failures.get(0).tileName);
+        assertEquals(0, failures.get(0).row);
+        assertEquals(2, failures.get(0).col);
+        assertEquals("broken.b", failures.get(1).tileName);
+        assertNotNull(failures.get(1).cause);
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                if (entries[row][col] == null || entries[row][col].getTileName().startsWith("broken")) {
+                    assertNull(images[row][col]);
+                } else {
+                    assertEquals(10, images[row][col].getWidth());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.zombicide.missiongen.model.board;
+
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.UUID;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.areas.BoardArea;
+
+/**
+ * Tile boards built in memory for the tests.
+ */
+public final class TestBoards {
+
+    private TestBoards() {
+    }
+
+    /**
+     * A 250 wide tile with a small blank image and one area per street
+     * location.
+     */
+    public static TileBoard createBoard(String boardId, AreaLocation... streets) {
+        TileBoard board = new TileBoard(boardId, new BufferedImage(25, 25, BufferedImage.TYPE_INT_ARGB), 250, null);
+        for (AreaLocation street : streets) {
+            board.addArea(new BoardArea(UUID.randomUUID(), new Point(0, 0), 75, 75, street));
+        }
+        return board;
+    }
+}
@@ -0,0 +1,176 @@
+package com.zombicide.missiongen.model.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.zombicide.missiongen.model.helpers.TestImages;
+import com.zombicide.missiongen.model.helpers.TileImageCache;
+
+/**
+ * Test suite for mission backgrounds drawn from their tiles.
+ */
+public class VirtualMissionImageTest {
+
+    private static final int TILE_SIZE = 8;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String writeTile(String name, int rgb) throws IOException {
+        // the first column marks the rotation
+        return TestImages.writeTile(folder, name, TILE_SIZE, (x, y) -> x == 0 ? 0xFFFFFFFF : rgb);
+    }
+
+    private MissionTileEntry[][] createEntries(int rows, int cols) throws IOException {
+        MissionTileEntry[][] entries = new MissionTileEntry[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                String name = "tile" + row + col;
+                int rgb = 0xFF000000 | (row * 60 << 16) | (col * 60 << 8);
+                entries[row][col] = new MissionTileEntry(name, writeTile(name, rgb), 90 * (row + col), row, col);
+            }
+        }
+        return entries;
+    }
+
+    /** Counts the tiles reported ready. */
+    private static class LoadObserver implements ImageObserver {
+        final CountDownLatch loaded;
+        volatile int errors;
+
+        LoadObserver(int tiles) {
+            this.loaded = new CountDownLatch(tiles);
+        }
+
+        @Override
+        public boolean imageUpdate(Image img, int infoflags, int x, int y, int width, int height) {
+            if ((infoflags & ImageObserver.ERROR) != 0) {
+                errors++;
+            }
+            loaded.countDown();
+            return false;
+        }
+    }
+
+    private static BufferedImage draw(VirtualMissionImage image, int width, int height, ImageObserver observer) {
+        BufferedImage canvas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = canvas.createGraphics();
+        image.draw(g2d, 0, 0, width, height, observer);
+        g2d.dispose();
+        return canvas;
+    }
+
+    @Test
+    public void testOnlyVisibleTilesAreLoaded() throws Exception {
+        VirtualMissionImage image = new VirtualMissionImage(createEntries(3, 4));
+        TileImageCache cache = TileImageCache.getInstance();
+        long diskReads = cache.getDiskReads();
+        LoadObserver observer = new LoadObserver(4);
+
+        BufferedImage canvas = new BufferedImage(4 * TILE_SIZE, 3 * TILE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = canvas.createGraphics();
+        // the viewport covers the tiles of rows 0-1 and cols 1-2
+        g2d.setClip(TILE_SIZE + 1, 1, TILE_SIZE, TILE_SIZE);
+        image.draw(g2d, 0, 0, canvas.getWidth(), canvas.getHeight(), observer);
+        g2d.dispose();
+
+        assertTrue(observer.loaded.await(10, TimeUnit.SECONDS));
+        assertEquals(4, cache.getDiskReads() - diskReads);
+        assertEquals(0, canvas.getRGB(0, 0));
+    }
+
+    @Test
+    public void testDrawingMatchesTheComposedImageOnceLoaded() throws Exception {
+        MissionTileEntry[][] entries = createEntries(2, 3);
+        entries[1][0] = null;
+        VirtualMissionImage image = new VirtualMissionImage(entries);
+
+        BufferedImage composed = image.toBufferedImage();
+        assertEquals(3 * TILE_SIZE, composed.getWidth());
+        assertEquals(2 * TILE_SIZE, composed.getHeight());
+
+        // the first paint does not wait for the tiles
+        LoadObserver observer = new LoadObserver(5);
+        draw(image, composed.getWidth(), composed.getHeight(), observer);
+        assertTrue(observer.loaded.await(10, TimeUnit.SECONDS));
+
+        long diskReads = TileImageCache.getInstance().getDiskReads();
+        long misses = TileImageCache.getInstance().getMisses();
+        BufferedImage canvas = draw(image, composed.getWidth(), composed.getHeight(), null);
+        for (int y = 0; y < composed.getHeight(); y++) {
+            for (int x = 0; x < composed.getWidth(); x++) {
+                assertEquals(composed.getRGB(x, y), canvas.getRGB(x, y));
+            }
+        }
+        // the empty cell stays transparent
+        assertEquals(0, canvas.getRGB(1, TILE_SIZE + 1));
+        // repainting at the same size does not go back to the tile cache
+        assertEquals(diskReads, TileImageCache.getInstance().getDiskReads());
+        assertEquals(misses, TileImageCache.getInstance().getMisses());
+    }
+
+    @Test
+    public void testTilesAreKeptAtTheDrawnSize() throws Exception {
+        VirtualMissionImage image = new VirtualMissionImage(createEntries(2, 2));
+        LoadObserver observer = new LoadObserver(4);
+        draw(image, 2 * TILE_SIZE, 2 * TILE_SIZE, observer);
+        assertTrue(observer.loaded.await(10, TimeUnit.SECONDS));
+
+        // half size, every cell is loaded again at the new size
+        LoadObserver smaller = new LoadObserver(4);
+        draw(image, TILE_SIZE, TILE_SIZE, smaller);
+        assertTrue(smaller.loaded.await(10, TimeUnit.SECONDS));
+        BufferedImage canvas = draw(image, TILE_SIZE, TILE_SIZE, null);
+        // tile01 turned a quarter, its white column is blended into the top row of the cell
+        assertTrue((canvas.getRGB(TILE_SIZE * 3 / 4, 0) & 0xFF) > 0);
+        assertEquals(0xFF003C00, canvas.getRGB(TILE_SIZE * 3 / 4, TILE_SIZE / 2 - 1));
+    }
+
+    @Test
+    public void testFailedTileIsNotRetried() throws Exception {
+        MissionTileEntry[][] entries = createEntries(1, 2);
+        entries[0][1] = new MissionTileEntry("broken", new File(folder.getRoot(), "missing.png").getPath(), 0, 0, 1);
+        VirtualMissionImage image = new VirtualMissionImage(entries);
+        LoadObserver observer = new LoadObserver(2);
+        draw(image, 2 * TILE_SIZE, TILE_SIZE, observer);
+        assertTrue(observer.loaded.await(10, TimeUnit.SECONDS));
+        assertEquals(1, observer.errors);
+
+        LoadObserver again = new LoadObserver(1);
+        draw(image, 2 * TILE_SIZE, TILE_SIZE, again);
+        assertFalse(again.loaded.await(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testMissionBoardDrawsFromItsTiles() throws IOException {
+        MissionTileEntry[][] entries = createEntries(1, 2);
+        MissionBoard board = new MissionBoard("test.virtual", null, 2 * TILE_SIZE, TILE_SIZE, entries);
+
+        assertTrue(board.hasImage());
+        assertNull(board.getOriginalImage());
+        assertEquals(2 * TILE_SIZE, board.getImage().getWidth(null));
+
+        MissionBoard empty = new MissionBoard("test.empty", null, null, TILE_SIZE, TILE_SIZE, entries);
+        assertFalse(empty.hasImage());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyGridIsRejected() {
+        new VirtualMissionImage(new MissionTileEntry[0][0]);
+    }
+}
@@ -0,0 +1,75 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.board.MissionTileEntry;
+
+/**
+ * Test suite for the deadline-bounded layout generator.
+ */
+public class AnytimeLayoutGeneratorTest {
+
+    @Test
+    public void testSmallTreeIsExhaustedWithTheBestScore() {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        long layouts = new LayoutSolver(pool, 2, 2).solve((tiles, rotations) -> true);
+        // prefer layouts whose first cell holds tile 3 unrotated
+        LayoutFitness fitness = (tiles, rotations) -> tiles[0] == 3 && rotations[0] == 0 ? 1 : 0;
+
+        AnytimeLayoutGenerator.Result result = new AnytimeLayoutGenerator(pool, 2, 2, fitness)
+                .generate(Duration.ofSeconds(30), 1L);
+
+        assertTrue(result.exhausted);
+        assertEquals(layouts, result.layoutsEvaluated);
+        assertEquals(1.0, result.bestScore, 0.0);
+        assertTrue(result.bestLayout.isCompleteAndValid());
+    }
+
+    @Test
+    public void testDeadlineIsHonouredOnAHugeTree() {
+        // 40 corner tiles on a 4x4 grid: far too many layouts to score before the
+        // deadline, but with this seed the first one is reached before the clock is
+        // first read, so a layout comes back however slow the machine is
+        TilePool pool = LayoutSolverTest.createCornerPool(40);
+        AnytimeLayoutGenerator generator = new AnytimeLayoutGenerator(pool, 4, 4,
+                new MissionLayoutFitness(pool, 4, 4), Collections.singletonList("test.pool.7V"),
+                Arrays.asList("test.pool.0V", "test.pool.1V"));
+
+        AnytimeLayoutGenerator.Result result = generator.generate(Duration.ofMillis(300), 2L);
+
+        assertFalse(result.exhausted);
+        assertTrue(result.nodesExplored > 0);
+        assertTrue(result.layoutsEvaluated > 0);
+        assertNotNull(result.bestLayout);
+        assertTrue(result.bestLayout.isCompleteAndValid());
+        boolean hasRequired = false;
+        for (MissionTileEntry[] row : result.bestLayout.toMissionTileEntries()) {
+            for (MissionTileEntry entry : row) {
+                hasRequired |= entry.getTileName().equals("test.pool.7V");
+                assertFalse(entry.getTileName().equals("test.pool.0V"));
+                assertFalse(entry.getTileName().equals("test.pool.1V"));
+            }
+        }
+        assertTrue(hasRequired);
+    }
+
+    @Test
+    public void testNoLayoutGivesNullResult() {
+        TilePool pool = LayoutSolverTest.createCornerPool(3);
+        AnytimeLayoutGenerator.Result result = new AnytimeLayoutGenerator(pool, 2, 2, (tiles, rotations) -> 0)
+                .generate(Duration.ofSeconds(1), 1L);
+
+        assertTrue(result.exhausted);
+        assertNull(result.bestLayout);
+    }
+}
@@ -0,0 +1,122 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the rotation-invariant layout form and hash.
+ */
+public class CanonicalLayoutTest {
+
+    /** Turns a row-major placement a quarter turn clockwise as a whole. */
+    private static int[][] turnClockwise(int width, int height, int[] tiles, int[] rotations) {
+        int[] turnedTiles = new int[tiles.length];
+        int[] turnedRotations = new int[rotations.length];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int to = col * height + (height - 1 - row);
+                turnedTiles[to] = tiles[row * width + col];
+                turnedRotations[to] = (rotations[row * width + col] + 1) % 4;
+            }
+        }
+        return new int[][] { turnedTiles, turnedRotations };
+    }
+
+    @Test
+    public void testTurnedLayoutsAreValidAndShareTheCanonicalForm() {
+        TilePool pool = LayoutSolverTest.createCornerPool(6);
+        List<int[][]> layouts = new ArrayList<>();
+        new LayoutSolver(pool, 3, 2).solve((tiles, rotations) -> {
+            layouts.add(new int[][] { tiles.clone(), rotations.clone() });
+            return layouts.size() < 50;
+        });
+        assertTrue(layouts.size() > 0);
+
+        for (int[][] layout : layouts) {
+            CanonicalLayout canonical = CanonicalLayout.of(pool, 3, 2, layout[0], layout[1]);
+            int[][] turned = layout;
+            int width = 3;
+            int height = 2;
+            for (int turn = 1; turn < 4; turn++) {
+                turned = turnClockwise(width, height, turned[0], turned[1]);
+                int previousWidth = width;
+                width = height;
+                height = previousWidth;
+                assertTrue("A turned valid layout stays valid",
+                        pool.toMissionGrid(width, height, turned[0], turned[1]).isCompleteAndValid());
+                CanonicalLayout turnedCanonical = CanonicalLayout.of(pool, width, height, turned[0], turned[1]);
+                assertEquals(canonical, turnedCanonical);
+                assertEquals(canonical.getHash(), turnedCanonical.getHash());
+            }
+        }
+    }
+
+    @Test
+    public void testEntriesAndPlacementHashAlike() {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        int[] tiles = { 0, 1, 2, 3 };
+        int[] rotations = { 0, 1, 3, 2 };
+
+        CanonicalLayout fromPlacement = CanonicalLayout.of(pool, 2, 2, tiles, rotations);
+        CanonicalLayout fromGrid = CanonicalLayout.of(pool.toMissionGrid(2, 2, tiles, rotations));
+
+        assertEquals(fromPlacement, fromGrid);
+        assertEquals(fromPlacement.getHash128()[1], fromGrid.getHash128()[1]);
+    }
+
+    @Test
+    public void testDifferentLayoutsDiffer() {
+        TilePool pool = LayoutSolverTest.createCornerPool(2);
+        CanonicalLayout a = CanonicalLayout.of(pool, 2, 1, new int[] { 0, 1 }, new int[] { 0, 0 });
+        CanonicalLayout b = CanonicalLayout.of(pool, 2, 1, new int[] { 1, 0 }, new int[] { 0, 0 });
+        CanonicalLayout c = CanonicalLayout.of(pool, 2, 1, new int[] { 0, 1 }, new int[] { 0, 1 });
+
+        assertNotEquals(a, b);
+        assertNotEquals(a, c);
+        assertNotEquals(a.getHash(), b.getHash());
+    }
+
+    @Test
+    public void testDistinctListenerKeepsOneLayoutPerRotationClass() {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        Set<CanonicalLayout> expected = new HashSet<>();
+        long all = new LayoutSolver(pool, 2, 2).solve((tiles, rotations) -> {
+            expected.add(CanonicalLayout.of(pool, 2, 2, tiles, rotations));
+            return true;
+        });
+
+        List<CanonicalLayout> forwarded = new ArrayList<>();
+        DistinctLayoutListener listener = new DistinctLayoutListener(pool, 2, 2, (tiles, rotations) -> {
+            forwarded.add(CanonicalLayout.of(pool, 2, 2, tiles, rotations));
+            return true;
+        });
+        new LayoutSolver(pool, 2, 2).solve(listener);
+
+        assertEquals(expected.size(), forwarded.size());
+        assertEquals(expected, new HashSet<>(forwarded));
+        assertTrue("Whole-board rotations collapse", forwarded.size() < all);
+    }
+
+    @Test
+    public void testDistinctListenerStopsAtItsBound() {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        List<CanonicalLayout> forwarded = new ArrayList<>();
+        DistinctLayoutListener listener = new DistinctLayoutListener(pool, 2, 2, (tiles, rotations) -> {
+            forwarded.add(CanonicalLayout.of(pool, 2, 2, tiles, rotations));
+            return true;
+        }, 3);
+        new LayoutSolver(pool, 2, 2).solve(listener);
+
+        assertEquals(3, forwarded.size());
+        assertEquals(3, new HashSet<>(forwarded).size());
+        assertEquals(3, listener.getDistinctCount());
+    }
+}
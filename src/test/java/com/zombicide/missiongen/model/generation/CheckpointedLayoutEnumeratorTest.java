@@ -0,0 +1,75 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test suite for stopping and resuming a layout enumeration.
+ */
+public class CheckpointedLayoutEnumeratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testResumedRunsMatchOneUninterruptedRun() throws IOException {
+        TilePool pool = LayoutSolverTest.createCornerPool(6);
+        LayoutCodec codec = new LayoutCodec(pool, 3, 2);
+        List<long[]> expected = new ArrayList<>();
+        new LayoutSolver(pool, 3, 2).solve((tiles, rotations) -> expected.add(codec.encode(tiles, rotations)));
+
+        Path checkpoint = folder.getRoot().toPath().resolve("enumeration.json");
+        Path storePath = folder.getRoot().toPath().resolve("layouts.bin");
+        int runs = 0;
+        boolean complete = false;
+        while (!complete) {
+            runs++;
+            CheckpointedLayoutEnumerator enumerator = new CheckpointedLayoutEnumerator(pool, 3, 2, checkpoint, 2,
+                    0);
+            try (MappedLayoutStore store = new MappedLayoutStore(storePath, codec)) {
+                // drop what the interrupted prefix had already written
+                store.truncate(enumerator.getDelivered());
+                long[] budget = { 7 * expected.size() / 20 };
+                enumerator.enumerate((tiles, rotations) -> {
+                    store.onLayout(tiles, rotations);
+                    return --budget[0] > 0;
+                });
+                complete = enumerator.isComplete();
+                if (complete) {
+                    assertEquals(expected.size(), store.size());
+                    int[] tiles = new int[6];
+                    int[] rotations = new int[6];
+                    for (int index = 0; index < expected.size(); index++) {
+                        store.get(index, tiles, rotations);
+                        assertArrayEquals(expected.get(index), codec.encode(tiles, rotations));
+                    }
+                }
+            }
+        }
+        assertTrue("The enumeration should have been interrupted", runs > 1);
+        assertTrue(Files.exists(checkpoint));
+    }
+
+    @Test(expected = IOException.class)
+    public void testCheckpointOfAnotherGridIsRejected() throws IOException {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        Path checkpoint = folder.getRoot().toPath().resolve("other.json");
+        CheckpointedLayoutEnumerator enumerator = new CheckpointedLayoutEnumerator(pool, 2, 2, checkpoint);
+        enumerator.enumerate((tiles, rotations) -> false);
+        assertFalse(enumerator.isComplete());
+
+        new CheckpointedLayoutEnumerator(pool, 4, 1, checkpoint);
+    }
+}
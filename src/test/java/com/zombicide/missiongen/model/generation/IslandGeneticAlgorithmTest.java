@@ -0,0 +1,100 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.areas.BoardArea;
+import com.zombicide.missiongen.model.areas.BoardAreaConnection;
+import com.zombicide.missiongen.model.board.MissionAreaIndex;
+import com.zombicide.missiongen.model.board.MissionGrid;
+import com.zombicide.missiongen.model.board.TileBoard;
+
+/**
+ * Test suite for the island genetic algorithm and its headless fitness.
+ */
+public class IslandGeneticAlgorithmTest {
+
+    /** Corner street tile plus a building connected to its middle street. */
+    private static TileBoard createConnectedBoard(String boardId) {
+        TileBoard board = LayoutSolverTest.createCornerBoard(boardId);
+        BoardArea building = new BoardArea(UUID.randomUUID(), new Point(0, 0), 75, 75, AreaLocation.OTHER);
+        board.addArea(building);
+        UUID street = board.getAreaByAreaLocation(AreaLocation.MIDDLE_RIGHT_STREET).getAreaId();
+        board.addConnection(new BoardAreaConnection(building.getAreaId(), street));
+        return board;
+    }
+
+    @Test
+    public void testZonesMatchTheMissionAreaIndex() {
+        List<TileBoard> boards = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            boards.add(createConnectedBoard("test.connected." + i));
+        }
+        TilePool pool = new TilePool(boards);
+        MissionLayoutFitness fitness = new MissionLayoutFitness(pool, 3, 2);
+        Random random = new Random(4);
+        for (int step = 0; step < 50; step++) {
+            List<Integer> order = new ArrayList<>(Arrays.asList(0, 1, 2, 3, 4, 5));
+            Collections.shuffle(order, random);
+            int[] tiles = order.stream().mapToInt(Integer::intValue).toArray();
+            int[] rotations = new int[6];
+            for (int cell = 0; cell < 6; cell++) {
+                rotations[cell] = random.nextInt(4);
+            }
+
+            MissionGrid grid = pool.toMissionGrid(3, 2, tiles, rotations);
+            MissionAreaIndex index = grid.getAreaIndex();
+            Set<Integer> roots = new HashSet<>();
+            for (int handle = 0; handle < index.size(); handle++) {
+                roots.add(index.find(handle));
+            }
+            MissionLayoutFitness.Metrics metrics = fitness.measure(tiles, rotations);
+
+            assertEquals("Step " + step, roots.size(), metrics.zones);
+            assertEquals("Step " + step, grid.getViolatedEdges(), metrics.violatedEdges);
+            assertTrue(metrics.largestConnectedZones >= 2);
+        }
+    }
+
+    @Test
+    public void testIslandsFindAValidLayout() {
+        TilePool pool = LayoutSolverTest.createCornerPool(8);
+        MissionLayoutFitness fitness = new MissionLayoutFitness(pool, 3, 2, 0.0, 0.0, 1.0);
+        IslandGeneticAlgorithm algorithm = new IslandGeneticAlgorithm(pool, 3, 2, fitness, 21L, 4, 40, 10, 2);
+
+        double best = algorithm.run(200, 0.0);
+
+        assertEquals(0.0, best, 0.0);
+        assertTrue(algorithm.getBestLayout().isCompleteAndValid());
+    }
+
+    @Test
+    public void testSameSeedSameResult() {
+        TilePool pool = LayoutSolverTest.createCornerPool(10);
+        MissionLayoutFitness fitness = new MissionLayoutFitness(pool, 3, 3);
+        IslandGeneticAlgorithm first = new IslandGeneticAlgorithm(pool, 3, 3, fitness, 8L, 3, 20, 5, 1);
+        IslandGeneticAlgorithm second = new IslandGeneticAlgorithm(pool, 3, 3, fitness, 8L, 3, 20, 5, 1);
+
+        first.run(6, Double.POSITIVE_INFINITY);
+        second.run(6, Double.POSITIVE_INFINITY);
+
+        assertEquals(first.getBestFitness(), second.getBestFitness(), 0.0);
+        assertArrayEquals(first.getBestPlacement()[0], second.getBestPlacement()[0]);
+        int[] tiles = first.getBestPlacement()[0];
+        assertEquals("No tile used twice", tiles.length, Arrays.stream(tiles).distinct().count());
+    }
+}
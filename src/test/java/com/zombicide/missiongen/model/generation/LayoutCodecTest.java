@@ -0,0 +1,77 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.board.MissionGrid;
+
+/**
+ * Test suite for the bit-packed layout encoding.
+ */
+public class LayoutCodecTest {
+
+    @Test
+    public void testRoundTripAcrossWordBoundaries() {
+        TilePool pool = LayoutSolverTest.createCornerPool(5);
+        LayoutCodec codec = new LayoutCodec(pool, 5, 5);
+        assertEquals("3 tile bits plus 2 rotation bits", 5, codec.getCellBits());
+        assertEquals(2, codec.getWords());
+
+        Random random = new Random(11);
+        int[] tiles = new int[25];
+        int[] rotations = new int[25];
+        int[] decodedTiles = new int[25];
+        int[] decodedRotations = new int[25];
+        for (int step = 0; step < 1000; step++) {
+            for (int cell = 0; cell < 25; cell++) {
+                tiles[cell] = random.nextInt(6) - 1;
+                rotations[cell] = tiles[cell] < 0 ? 0 : random.nextInt(4);
+            }
+            long[] packed = codec.encode(tiles, rotations);
+            codec.decode(packed, 0, decodedTiles, decodedRotations);
+            assertArrayEquals(tiles, decodedTiles);
+            assertArrayEquals(rotations, decodedRotations);
+        }
+    }
+
+    @Test
+    public void testMissionGridRoundTrip() {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        LayoutCodec codec = new LayoutCodec(pool, 2, 2);
+        int[] tiles = { 3, 0, -1, 2 };
+        int[] rotations = { 1, 2, 0, 3 };
+
+        MissionGrid grid = pool.toMissionGrid(2, 2, tiles, rotations);
+        long[] packed = codec.encode(grid);
+
+        assertArrayEquals(codec.encode(tiles, rotations), packed);
+        assertArrayEquals(packed, codec.encode(codec.toMissionTileEntries(packed, 0)));
+        assertArrayEquals(packed, codec.encode(codec.toMissionGrid(packed, 0)));
+    }
+
+    @Test
+    public void testPackedListKeepsSolverOrder() {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        LayoutSolver solver = new LayoutSolver(pool, 2, 2);
+        List<int[][]> expected = new ArrayList<>();
+        solver.solve((tiles, rotations) -> expected.add(new int[][] { tiles.clone(), rotations.clone() }));
+
+        PackedLayoutList list = new PackedLayoutList(new LayoutCodec(pool, 2, 2));
+        solver.solve(list);
+
+        assertEquals(expected.size(), list.size());
+        int[] tiles = new int[4];
+        int[] rotations = new int[4];
+        for (int index = 0; index < expected.size(); index++) {
+            list.get(index, tiles, rotations);
+            assertArrayEquals(expected.get(index)[0], tiles);
+            assertArrayEquals(expected.get(index)[1], rotations);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.board.MissionGrid;
+
+/**
+ * Test suite for completing partially placed layouts.
+ */
+public class LayoutCompleterTest {
+
+    private static int[] firstLayout(TilePool pool, int width, int height, int[] rotations) {
+        int[] first = new int[width * height];
+        new LayoutSolver(pool, width, height).solve((tiles, layoutRotations) -> {
+            System.arraycopy(tiles, 0, first, 0, tiles.length);
+            System.arraycopy(layoutRotations, 0, rotations, 0, layoutRotations.length);
+            return false;
+        });
+        return first;
+    }
+
+    @Test
+    public void testCompletionKeepsThePlacedTiles() {
+        TilePool pool = LayoutSolverTest.createCornerPool(12);
+        int[] rotations = new int[9];
+        int[] tiles = firstLayout(pool, 3, 3, rotations);
+        // keep the corners and the centre
+        int[] fixedTiles = tiles.clone();
+        for (int cell : new int[] { 1, 3, 5, 7 }) {
+            fixedTiles[cell] = -1;
+        }
+
+        for (long seed = 0; seed < 5; seed++) {
+            LayoutCompleter completer = new LayoutCompleter(pool, 3, 3, fixedTiles, rotations.clone());
+            assertEquals(4, completer.getEmptyCells());
+            LayoutCompleter.Result result = completer.complete(Duration.ofSeconds(5), seed);
+
+            assertTrue(result.isComplete());
+            Set<Integer> used = new HashSet<>();
+            for (int cell = 0; cell < 9; cell++) {
+                assertTrue(used.add(result.tiles[cell]));
+                if (fixedTiles[cell] >= 0) {
+                    assertEquals(fixedTiles[cell], result.tiles[cell]);
+                    assertEquals(rotations[cell], result.rotations[cell]);
+                }
+            }
+            assertTrue(pool.toMissionGrid(3, 3, result.tiles, result.rotations).isCompleteAndValid());
+        }
+    }
+
+    @Test
+    public void testPlacedBoardsOfTheMissionGridAreFixed() {
+        TilePool pool = LayoutSolverTest.createCornerPool(6);
+        int[] rotations = new int[4];
+        int[] tiles = firstLayout(pool, 2, 2, rotations);
+        int[] partial = { tiles[0], -1, -1, tiles[3] };
+        MissionGrid grid = pool.toMissionGrid(2, 2, partial, rotations);
+
+        LayoutCompleter.Result result = new LayoutCompleter(pool, grid).complete(Duration.ofSeconds(5), 3L);
+
+        assertTrue(result.isComplete());
+        assertEquals(tiles[0], result.tiles[0]);
+        assertEquals(rotations[0], result.rotations[0]);
+        assertEquals(tiles[3], result.tiles[3]);
+        assertEquals(rotations[3], result.rotations[3]);
+        assertTrue(pool.toMissionGrid(2, 2, result.tiles, result.rotations).isCompleteAndValid());
+    }
+
+    @Test
+    public void testSnapshotIgnoresLaterEditsOfTheGrid() {
+        TilePool pool = LayoutSolverTest.createCornerPool(6);
+        int[] rotations = new int[4];
+        int[] tiles = firstLayout(pool, 2, 2, rotations);
+        MissionGrid grid = pool.toMissionGrid(2, 2, new int[] { tiles[0], -1, -1, -1 }, rotations);
+        LayoutCompleter.PlacedTiles placed = new LayoutCompleter.PlacedTiles(grid);
+
+        // edits made while the search would be running
+        grid.getBoard(0, 0).rotate();
+        grid.setBoard(1, 1, LayoutSolverTest.createBoard("test.other.9V"));
+
+        LayoutCompleter.Result result = new LayoutCompleter(pool, placed).complete(Duration.ofSeconds(5), 5L);
+
+        assertTrue(result.isComplete());
+        assertEquals(tiles[0], result.tiles[0]);
+        assertEquals(rotations[0], result.rotations[0]);
+    }
+
+    @Test
+    public void testMismatchedPlacedTilesCannotBeCompleted() {
+        TilePool pool = new TilePool(Arrays.asList(
+                LayoutSolverTest.createBoard("test.end.0V", AreaLocation.MIDDLE_RIGHT_STREET),
+                LayoutSolverTest.createBoard("test.plain.1V"), LayoutSolverTest.createBoard("test.plain.2V")));
+        // the street of the end tile runs into the plain tile
+        LayoutCompleter.Result result = new LayoutCompleter(pool, 3, 1, new int[] { 0, 1, -1 }, new int[3])
+                .complete(Duration.ofSeconds(5), 1L);
+
+        assertFalse(result.isComplete());
+        assertFalse(result.timedOut);
+    }
+
+    @Test
+    public void testTilePlacedTwiceCannotBeCompleted() {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        LayoutCompleter.Result result = new LayoutCompleter(pool, 2, 2, new int[] { 0, -1, -1, 0 }, new int[4])
+                .complete(Duration.ofSeconds(5), 1L);
+
+        assertFalse(result.isComplete());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoardOutsideThePoolIsRejected() {
+        MissionGrid grid = new MissionGrid(2, 1);
+        grid.setBoard(0, 0, LayoutSolverTest.createBoard("test.other.9V"));
+        new LayoutCompleter(LayoutSolverTest.createCornerPool(4), grid);
+    }
+}
@@ -0,0 +1,206 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.areas.Direction;
+import com.zombicide.missiongen.model.board.EdgeSignature;
+import com.zombicide.missiongen.model.board.TileBoard;
+
+/**
+ * Test suite for constrained layout generation: every constraint must give
+ * exactly the layouts a post-filter over the unconstrained search keeps.
+ */
+public class LayoutConstraintTest {
+
+    private static final int WIDTH = 3;
+    private static final int HEIGHT = 2;
+
+    private static TilePool createPool() {
+        List<TileBoard> boards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            boards.add(LayoutSolverTest.createBoard("test.straight." + i + "V", AreaLocation.MIDDLE_LEFT_STREET,
+                    AreaLocation.MIDDLE_RIGHT_STREET));
+        }
+        boards.add(LayoutSolverTest.createBoard("test.end.4V", AreaLocation.MIDDLE_RIGHT_STREET));
+        boards.add(LayoutSolverTest.createBoard("test.end.5V", AreaLocation.MIDDLE_RIGHT_STREET));
+        boards.add(LayoutSolverTest.createBoard("test.plain.6V"));
+        boards.add(LayoutSolverTest.createBoard("test.plain.7V"));
+        boards.add(LayoutSolverTest.createCornerBoard("test.corner.8V"));
+        return new TilePool(boards);
+    }
+
+    /**
+     * Compares the constrained search with the filtered unconstrained one.
+     *
+     * @param prunesEarly whether the constraint can cut branches before the
+     *                    last cell
+     */
+    private static void assertSameAsFilter(String constraints, boolean prunesEarly,
+            BiPredicate<int[], int[]> filter) {
+        assertSameAsFilter(HEIGHT, constraints, prunesEarly, filter);
+    }
+
+    private static void assertSameAsFilter(int height, String constraints, boolean prunesEarly,
+            BiPredicate<int[], int[]> filter) {
+        TilePool pool = createPool();
+        LayoutSolver solver = new LayoutSolver(pool, WIDTH, height);
+        List<String> expected = new ArrayList<>();
+        long all = solver.solve((tiles, rotations) -> {
+            if (filter.test(tiles, rotations)) {
+                expected.add(Arrays.toString(tiles) + Arrays.toString(rotations));
+            }
+            return true;
+        });
+        long unconstrainedNodes = solver.getNodesExplored();
+
+        List<String> constrained = new ArrayList<>();
+        solver.addConstraints(LayoutConstraintParser.parse(constraints));
+        solver.solve((tiles, rotations) -> constrained.add(Arrays.toString(tiles) + Arrays.toString(rotations)));
+
+        assertTrue("The filter should reject some layouts", expected.size() < all);
+        assertTrue("The constraint should keep some layouts", expected.size() > 0);
+        assertEquals(expected, constrained);
+        if (prunesEarly) {
+            assertTrue(solver.getNodesExplored() < unconstrainedNodes);
+        } else {
+            assertTrue(solver.getNodesExplored() <= unconstrainedNodes);
+        }
+    }
+
+    private static boolean hasStreet(TilePool pool, int[] tiles, int[] rotations, int cell, AreaLocation location) {
+        return pool.hasStreet(tiles[cell], rotations[cell], location);
+    }
+
+    @Test
+    public void testRequireTile() {
+        TilePool pool = createPool();
+        int tile = pool.indexOf("4V");
+        assertSameAsFilter("require 4V", false, (tiles, rotations) -> Arrays.stream(tiles).anyMatch(t -> t == tile));
+    }
+
+    @Test
+    public void testExcludeTile() {
+        TilePool pool = createPool();
+        int tile = pool.indexOf("test.straight.0V");
+        assertSameAsFilter("exclude test.straight.0V", true,
+                (tiles, rotations) -> Arrays.stream(tiles).noneMatch(t -> t == tile));
+    }
+
+    @Test
+    public void testDeadEnds() {
+        TilePool pool = createPool();
+        assertSameAsFilter("dead-ends >= 2", true, (tiles, rotations) -> {
+            int deadEnds = 0;
+            for (int cell = 0; cell < tiles.length; cell++) {
+                int sides = 0;
+                for (Direction side : new Direction[] { Direction.NORTH, Direction.EAST, Direction.SOUTH,
+                        Direction.WEST }) {
+                    sides += EdgeSignature.side(pool.getEdgeSignature(tiles[cell], rotations[cell]), side) != 0 ? 1
+                            : 0;
+                }
+                deadEnds += sides == 1 ? 1 : 0;
+            }
+            return deadEnds >= 2;
+        });
+    }
+
+    @Test
+    public void testStreetRuns() {
+        TilePool pool = createPool();
+        assertSameAsFilter("street-runs 3 == 1", false, (tiles, rotations) -> {
+            int runs = 0;
+            for (int row = 0; row < HEIGHT; row++) {
+                int run = 1;
+                for (int col = 1; col <= WIDTH; col++) {
+                    int cell = row * WIDTH + col;
+                    if (col < WIDTH && hasStreet(pool, tiles, rotations, cell - 1, AreaLocation.MIDDLE_RIGHT_STREET)
+                            && hasStreet(pool, tiles, rotations, cell, AreaLocation.MIDDLE_LEFT_STREET)) {
+                        run++;
+                    } else {
+                        runs += run == 3 ? 1 : 0;
+                        run = 1;
+                    }
+                }
+            }
+            // columns are only 2 cells high
+            return runs == 1;
+        });
+    }
+
+    @Test
+    public void testNoIdenticalNeighbours() {
+        TilePool pool = createPool();
+        // a single row, two rows of these tiles always put equal streets side by side
+        assertSameAsFilter(1, "no-identical-neighbours # same streets in any rotation", true, (tiles, rotations) -> {
+            for (int cell = 0; cell < tiles.length; cell++) {
+                int col = cell % WIDTH;
+                if ((col > 0 && sameStreets(pool, tiles[cell], tiles[cell - 1]))
+                        || (cell >= WIDTH && sameStreets(pool, tiles[cell], tiles[cell - WIDTH]))) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    private static boolean sameStreets(TilePool pool, int a, int b) {
+        for (int rotation = 0; rotation < TilePool.ROTATIONS; rotation++) {
+            if (pool.getEdgeSignature(a, 0) == pool.getEdgeSignature(b, rotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testCombinedConstraints() {
+        TilePool pool = createPool();
+        int tile = pool.indexOf("5V");
+        assertSameAsFilter("require 5V; street-runs 3 >= 1\n\n# comment line\nexclude 4V", true, (tiles, rotations) -> {
+            boolean run = false;
+            for (int row = 0; row < HEIGHT; row++) {
+                boolean straight = true;
+                for (int col = 0; col < WIDTH - 1; col++) {
+                    int cell = row * WIDTH + col;
+                    straight &= hasStreet(pool, tiles, rotations, cell, AreaLocation.MIDDLE_RIGHT_STREET);
+                }
+                run |= straight;
+            }
+            return run && Arrays.stream(tiles).anyMatch(t -> t == tile)
+                    && Arrays.stream(tiles).noneMatch(t -> t == pool.indexOf("4V"));
+        });
+    }
+
+    @Test
+    public void testParseErrorsNameTheLine() {
+        try {
+            LayoutConstraintParser.parse("require 4V\ndead-ends ~ 3");
+            fail("An unknown comparison should be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Line 2:"));
+        }
+        try {
+            LayoutConstraintParser.parse("street-runs 3");
+            fail("Missing arguments should be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Line 1:"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownTileIsRejected() {
+        LayoutSolver solver = new LayoutSolver(createPool(), WIDTH, HEIGHT);
+        solver.addConstraint(LayoutConstraints.requireTile("99R"));
+        solver.solve((tiles, rotations) -> true);
+    }
+}
@@ -0,0 +1,252 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.ToLongFunction;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.board.MissionGrid;
+
+/**
+ * Test suite for the backpressured layout publisher.
+ */
+public class LayoutPublisherTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /** Counts grids and lets the test control the demand. */
+    private static class RecordingSubscriber implements Flow.Subscriber<MissionGrid> {
+        final AtomicInteger received = new AtomicInteger();
+        final AtomicInteger invalid = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(MissionGrid grid) {
+            received.incrementAndGet();
+            if (!grid.isCompleteAndValid()) {
+                invalid.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+
+    /** Wraps a source to count the layouts it finds and tell when it returns. */
+    private static class TrackedSource implements ToLongFunction<LayoutListener> {
+        final AtomicInteger found = new AtomicInteger();
+        final CountDownLatch returned = new CountDownLatch(1);
+        private final ToLongFunction<LayoutListener> source;
+
+        TrackedSource(ToLongFunction<LayoutListener> source) {
+            this.source = source;
+        }
+
+        @Override
+        public long applyAsLong(LayoutListener listener) {
+            try {
+                return source.applyAsLong((tiles, rotations) -> {
+                    found.incrementAndGet();
+                    return listener.onLayout(tiles, rotations);
+                });
+            } finally {
+                returned.countDown();
+            }
+        }
+    }
+
+    private static void awaitValue(int expected, IntSupplier value) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (value.getAsInt() != expected) {
+            assertTrue("Timed out waiting for " + expected + ", got " + value.getAsInt(),
+                    System.nanoTime() - deadline < 0);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void testNothingIsProducedBeyondDemand() throws InterruptedException {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        TrackedSource source = new TrackedSource(new LayoutSolver(pool, 2, 2)::solve);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new LayoutPublisher(pool, 2, 2, source, executor).subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+        // the fourth layout is found, then parked until there is demand for it
+        awaitValue(4, source.found::get);
+        assertEquals(3, subscriber.received.get());
+
+        subscriber.subscription.request(2);
+        awaitValue(6, source.found::get);
+        assertEquals(5, subscriber.received.get());
+
+        subscriber.subscription.cancel();
+        assertTrue(source.returned.await(10, TimeUnit.SECONDS));
+        assertEquals(5, subscriber.received.get());
+        assertEquals(0, subscriber.invalid.get());
+    }
+
+    @Test
+    public void testUnboundedDemandCompletes() throws InterruptedException {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        long layouts = new LayoutSolver(pool, 2, 2).solve((tiles, rotations) -> true);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        LayoutPublisher.exhaustive(pool, 2, 2, executor).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+        assertEquals(layouts, subscriber.received.get());
+    }
+
+    @Test
+    public void testParallelSourceIsSerialisedAndStopsOnCancel() throws InterruptedException {
+        TilePool pool = LayoutSolverTest.createCornerPool(6);
+        ParallelLayoutEnumerator enumerator = new ParallelLayoutEnumerator(pool, 3, 2, 4);
+        AtomicLong concurrentCalls = new AtomicLong();
+        AtomicLong maxConcurrent = new AtomicLong();
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(MissionGrid grid) {
+                maxConcurrent.accumulateAndGet(concurrentCalls.incrementAndGet(), Math::max);
+                super.onNext(grid);
+                concurrentCalls.decrementAndGet();
+                if (received.get() == 20) {
+                    subscription.cancel();
+                }
+            }
+        };
+        TrackedSource source = new TrackedSource(enumerator::enumerate);
+        new LayoutPublisher(pool, 3, 2, source, executor).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertTrue(source.returned.await(10, TimeUnit.SECONDS));
+
+        assertEquals(20, subscriber.received.get());
+        assertEquals(1, maxConcurrent.get());
+    }
+
+    @Test
+    public void testNonPositiveRequestSignalsError() throws InterruptedException {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        LayoutPublisher.exhaustive(pool, 2, 2, executor).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testRequestFromAnotherThreadDuringOnNext() throws Exception {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(MissionGrid grid) {
+                super.onNext(grid);
+                // blocks on the other thread, which must not wait for this onNext
+                Future<?> request = executor.submit(() -> subscription.request(1));
+                try {
+                    request.get(5, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                if (received.get() == 3) {
+                    subscription.cancel();
+                }
+            }
+        };
+        TrackedSource source = new TrackedSource(new LayoutSolver(pool, 2, 2)::solve);
+        new LayoutPublisher(pool, 2, 2, source, executor).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        assertTrue(source.returned.await(10, TimeUnit.SECONDS));
+
+        assertEquals(3, subscriber.received.get());
+    }
+
+    @Test
+    public void testErrorInSourceSignalsError() throws InterruptedException {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        AssertionError failure = new AssertionError("generator failed");
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new LayoutPublisher(pool, 2, 2, listener -> {
+            throw failure;
+        }, executor).subscribe(subscriber);
+
+        assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+        assertSame(failure, subscriber.error);
+    }
+
+    @Test
+    public void testFailingOnNextCancelsWithoutFurtherSignals() throws InterruptedException {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        TrackedSource source = new TrackedSource(new LayoutSolver(pool, 2, 2)::solve);
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(MissionGrid grid) {
+                super.onNext(grid);
+                if (received.get() == 2) {
+                    throw new IllegalStateException("subscriber failed");
+                }
+            }
+        };
+        new LayoutPublisher(pool, 2, 2, source, executor).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertTrue(source.returned.await(10, TimeUnit.SECONDS));
+        assertEquals(2, subscriber.received.get());
+        assertEquals(2, source.found.get());
+        assertFalse(subscriber.done.await(100, TimeUnit.MILLISECONDS));
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void testRejectedExecutionSignalsError() throws InterruptedException {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        executor.shutdown();
+        LayoutPublisher.exhaustive(pool, 2, 2, executor).subscribe(subscriber);
+
+        assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+        assertTrue(subscriber.error instanceof RejectedExecutionException);
+    }
+}
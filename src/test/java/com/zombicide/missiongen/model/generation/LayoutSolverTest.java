@@ -0,0 +1,116 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.board.MissionGrid;
+import com.zombicide.missiongen.model.board.TestBoards;
+import com.zombicide.missiongen.model.board.TileBoard;
+
+/**
+ * Test suite for the headless layout solver.
+ * Uses synthetic tiles so the expected layouts can be checked against
+ * MissionGrid.validate().
+ */
+public class LayoutSolverTest {
+
+    static TileBoard createBoard(String boardId, AreaLocation... streets) {
+        return TestBoards.createBoard(boardId, streets);
+    }
+
+    /** L shaped street along the east and south borders, like tile 1V. */
+    static TileBoard createCornerBoard(String boardId) {
+        return createBoard(boardId, AreaLocation.TOP_RIGHT_STREET, AreaLocation.MIDDLE_RIGHT_STREET,
+                AreaLocation.BOTTOM_RIGHT_STREET, AreaLocation.BOTTOM_MIDDLE_STREET,
+                AreaLocation.BOTTOM_LEFT_STREET);
+    }
+
+    static TilePool createCornerPool(int size) {
+        List<TileBoard> boards = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            boards.add(createCornerBoard("test.pool." + i + "V"));
+        }
+        return new TilePool(boards);
+    }
+
+    @Test
+    public void testEverySolutionValidates() {
+        TilePool pool = createCornerPool(4);
+        LayoutSolver solver = new LayoutSolver(pool, 2, 2);
+
+        List<MissionGrid> grids = solver.findAll(Integer.MAX_VALUE);
+
+        assertTrue("Corner tiles should produce layouts", grids.size() > 0);
+        for (MissionGrid grid : grids) {
+            assertTrue("Every solution should be complete and valid", grid.isCompleteAndValid());
+        }
+    }
+
+    @Test
+    public void testSolutionCountMatchesBruteForce() {
+        TilePool pool = createCornerPool(3);
+        LayoutSolver solver = new LayoutSolver(pool, 3, 1);
+        long solved = solver.solve((tiles, rotations) -> true);
+
+        // brute force every permutation and rotation through MissionGrid.validate()
+        TileBoard[][] rotated = new TileBoard[3][4];
+        for (int tile = 0; tile < 3; tile++) {
+            for (int rotation = 0; rotation < 4; rotation++) {
+                rotated[tile][rotation] = pool.createRotatedBoard(tile, rotation);
+            }
+        }
+        int[][] permutations = { { 0, 1, 2 }, { 0, 2, 1 }, { 1, 0, 2 }, { 1, 2, 0 }, { 2, 0, 1 }, { 2, 1, 0 } };
+        long expected = 0;
+        for (int[] permutation : permutations) {
+            for (int r = 0; r < 64; r++) {
+                MissionGrid grid = new MissionGrid(3, 1);
+                for (int col = 0; col < 3; col++) {
+                    int rotation = (r >> (2 * col)) & 3;
+                    grid.setBoard(col, 0, rotated[permutation[col]][rotation]);
+                }
+                if (grid.validate()) {
+                    expected++;
+                }
+            }
+        }
+
+        assertEquals("Solver should find exactly the valid layouts", expected, solved);
+    }
+
+    @Test
+    public void testIncompatibleTilesHaveNoSolution() {
+        List<TileBoard> boards = new ArrayList<>();
+        boards.add(createBoard("test.pool.street", AreaLocation.getStreetLocations().toArray(new AreaLocation[0])));
+        boards.add(createBoard("test.pool.indoor"));
+        LayoutSolver solver = new LayoutSolver(new TilePool(boards), 2, 1);
+
+        assertNull("A full street tile never fits next to a street-less tile", solver.findFirst());
+    }
+
+    @Test
+    public void testPoolTooSmall() {
+        LayoutSolver solver = new LayoutSolver(createCornerPool(3), 2, 2);
+
+        assertEquals("Each tile is used at most once", 0, solver.solve((tiles, rotations) -> true));
+    }
+
+    @Test
+    public void testFindFirstStopsEarly() {
+        LayoutSolver solver = new LayoutSolver(createCornerPool(4), 2, 2);
+
+        MissionGrid grid = solver.findFirst();
+
+        assertNotNull("A layout should be found", grid);
+        assertTrue("First layout should be valid", grid.isCompleteAndValid());
+        assertEquals("Rotation is kept in the tile entries",
+                grid.getBoard(0, 0).getRotation(), grid.toMissionTileEntries()[0][0].getRotation());
+    }
+}
@@ -0,0 +1,63 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.board.MissionGrid;
+import com.zombicide.missiongen.model.board.TileBoard;
+
+/**
+ * Test suite for the simulated annealing layout generator.
+ */
+public class LocalSearchLayoutGeneratorTest {
+
+    @Test
+    public void testSmallGridReachesAValidLayout() {
+        TilePool pool = LayoutSolverTest.createCornerPool(6);
+        LocalSearchLayoutGenerator generator = new LocalSearchLayoutGenerator(pool, 3, 2, 17L);
+
+        MissionGrid grid = generator.generate(1_000_000);
+
+        assertEquals(0, generator.getViolations());
+        assertTrue(grid.isCompleteAndValid());
+    }
+
+    @Test
+    public void testLargeGridPicksTheRightTilesFromAMixedPool() {
+        // ring tiles only fit other ring tiles, plain tiles only plain ones:
+        // the only valid 8x8 layouts use all 64 ring tiles
+        List<TileBoard> boards = new ArrayList<>();
+        AreaLocation[] ring = AreaLocation.getStreetLocations().toArray(new AreaLocation[0]);
+        for (int i = 0; i < 64; i++) {
+            boards.add(LayoutSolverTest.createBoard("test.ring." + i, ring));
+        }
+        for (int i = 0; i < 20; i++) {
+            boards.add(LayoutSolverTest.createBoard("test.plain." + i));
+        }
+        TilePool pool = new TilePool(boards);
+        LocalSearchLayoutGenerator generator = new LocalSearchLayoutGenerator(pool, 8, 8, 3L);
+
+        MissionGrid grid = generator.generate(5_000_000);
+
+        assertEquals(0, generator.getViolations());
+        assertTrue(grid.isCompleteAndValid());
+        assertEquals("Reported violations match the grid", 0, grid.getViolatedEdges());
+    }
+
+    @Test
+    public void testBestLayoutIsReturnedWhenIterationsRunOut() {
+        TilePool pool = LayoutSolverTest.createCornerPool(16);
+        LocalSearchLayoutGenerator generator = new LocalSearchLayoutGenerator(pool, 4, 4, 1L);
+
+        MissionGrid grid = generator.generate(10);
+
+        assertEquals(generator.getViolations(), grid.getViolatedEdges());
+        assertTrue(generator.getIterations() <= 10);
+    }
+}
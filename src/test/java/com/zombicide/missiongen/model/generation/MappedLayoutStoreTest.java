@@ -0,0 +1,128 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test suite for the memory-mapped layout store.
+ */
+public class MappedLayoutStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLayoutsSurviveReopen() throws IOException {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        LayoutCodec codec = new LayoutCodec(pool, 2, 2);
+        Path path = folder.getRoot().toPath().resolve("layouts.bin");
+        List<int[][]> expected = new ArrayList<>();
+
+        try (MappedLayoutStore store = new MappedLayoutStore(path, codec)) {
+            new LayoutSolver(pool, 2, 2).solve((tiles, rotations) -> {
+                expected.add(new int[][] { tiles.clone(), rotations.clone() });
+                return store.onLayout(tiles, rotations);
+            });
+            assertEquals(expected.size(), store.size());
+        }
+
+        try (MappedLayoutStore store = new MappedLayoutStore(path, codec)) {
+            assertEquals(expected.size(), store.size());
+            int[] tiles = new int[4];
+            int[] rotations = new int[4];
+            store.get(expected.size() - 1, tiles, rotations);
+            assertArrayEquals(expected.get(expected.size() - 1)[0], tiles);
+
+            List<int[][]> scanned = new ArrayList<>();
+            store.scan((scanTiles, scanRotations) -> scanned
+                    .add(new int[][] { scanTiles.clone(), scanRotations.clone() }));
+            for (int index = 0; index < expected.size(); index++) {
+                assertArrayEquals(expected.get(index)[0], scanned.get(index)[0]);
+                assertArrayEquals(expected.get(index)[1], scanned.get(index)[1]);
+            }
+            assertTrue(store.getMissionGrid(0).isCompleteAndValid());
+        }
+    }
+
+    @Test
+    public void testConcurrentAppendsFromParallelEnumerator() throws IOException {
+        TilePool pool = LayoutSolverTest.createCornerPool(6);
+        Path path = folder.getRoot().toPath().resolve("parallel.bin");
+        try (MappedLayoutStore store = new MappedLayoutStore(path, new LayoutCodec(pool, 3, 2))) {
+            long found = new ParallelLayoutEnumerator(pool, 3, 2, 4).enumerate(store);
+
+            assertEquals(found, store.size());
+            Set<String> distinct = new HashSet<>();
+            store.scan((tiles, rotations) -> {
+                StringBuilder key = new StringBuilder();
+                for (int cell = 0; cell < tiles.length; cell++) {
+                    key.append(tiles[cell]).append(':').append(rotations[cell]).append(' ');
+                }
+                distinct.add(key.toString());
+                return true;
+            });
+            assertEquals("No record lost or overwritten", found, distinct.size());
+        }
+    }
+
+    @Test
+    public void testRecordsAfterAGapAreDroppedOnReopen() throws IOException {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        LayoutCodec codec = new LayoutCodec(pool, 2, 2);
+        Path path = folder.getRoot().toPath().resolve("gap.bin");
+        List<int[][]> layouts = new ArrayList<>();
+        new LayoutSolver(pool, 2, 2).solve((tiles, rotations) -> {
+            layouts.add(new int[][] { tiles.clone(), rotations.clone() });
+            return layouts.size() < 4;
+        });
+        assertEquals(4, layouts.size());
+
+        try (MappedLayoutStore store = new MappedLayoutStore(path, codec)) {
+            for (int index = 0; index < 3; index++) {
+                store.append(layouts.get(index)[0], layouts.get(index)[1]);
+            }
+        }
+        // a crash left record 1 reserved but never committed, record 2 committed after it
+        int recordBytes = (codec.getWords() + 1) * Long.BYTES;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES), 64 + recordBytes);
+        }
+
+        try (MappedLayoutStore store = new MappedLayoutStore(path, codec)) {
+            assertEquals(1, store.size());
+            assertEquals(1, store.append(layouts.get(3)[0], layouts.get(3)[1]));
+        }
+
+        try (MappedLayoutStore store = new MappedLayoutStore(path, codec)) {
+            assertEquals("The stale record after the gap is not counted again", 2, store.size());
+            int[] tiles = new int[4];
+            int[] rotations = new int[4];
+            store.get(1, tiles, rotations);
+            assertArrayEquals(layouts.get(3)[0], tiles);
+            assertArrayEquals(layouts.get(3)[1], rotations);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpeningWithAnotherGridSizeFails() throws IOException {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        Path path = folder.getRoot().toPath().resolve("sized.bin");
+        new MappedLayoutStore(path, new LayoutCodec(pool, 2, 2)).close();
+        new MappedLayoutStore(path, new LayoutCodec(pool, 4, 1)).close();
+    }
+}
@@ -0,0 +1,76 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test suite for splitting a layout enumeration over worker processes, using
+ * in-process workers.
+ */
+public class MultiProcessLayoutCoordinatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWorkersReproduceTheSequentialEnumeration() throws IOException, InterruptedException {
+        TilePool pool = LayoutSolverTest.createCornerPool(6);
+        LayoutCodec codec = new LayoutCodec(pool, 3, 2);
+        List<long[]> expected = new ArrayList<>();
+        new LayoutSolver(pool, 3, 2).solve((tiles, rotations) -> expected.add(codec.encode(tiles, rotations)));
+
+        List<WorkerLauncher> launchers = Collections.nCopies(3, new LocalWorkerLauncher(pool));
+        MultiProcessLayoutCoordinator coordinator = new MultiProcessLayoutCoordinator(pool, "test", "pool", 3, 2,
+                3, folder.getRoot().toPath(), launchers);
+        List<long[]> collected = new ArrayList<>();
+        long count = coordinator.run((tiles, rotations) -> collected.add(codec.encode(tiles, rotations)));
+
+        assertEquals(expected.size(), count);
+        assertEquals(expected.size(), collected.size());
+        for (int index = 0; index < expected.size(); index++) {
+            assertArrayEquals(expected.get(index), collected.get(index));
+        }
+    }
+
+    @Test
+    public void testListenerStopsTheCollection() throws IOException, InterruptedException {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        List<WorkerLauncher> launchers = Collections.nCopies(2, new LocalWorkerLauncher(pool));
+        MultiProcessLayoutCoordinator coordinator = new MultiProcessLayoutCoordinator(pool, "test", "pool", 2, 2,
+                2, folder.getRoot().toPath(), launchers);
+        long[] budget = { 5 };
+
+        assertEquals(5, coordinator.run((tiles, rotations) -> --budget[0] > 0));
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailedWorkerIsReported() throws IOException, InterruptedException {
+        TilePool pool = LayoutSolverTest.createCornerPool(4);
+        List<WorkerLauncher> launchers = Arrays.asList(new LocalWorkerLauncher(pool), jobFile -> 1);
+        new MultiProcessLayoutCoordinator(pool, "test", "pool", 2, 2, 2, folder.getRoot().toPath(), launchers)
+                .run((tiles, rotations) -> true);
+    }
+
+    @Test
+    public void testProcessCommandRunsTheWorkerClass() {
+        ProcessWorkerLauncher launcher = new ProcessWorkerLauncher(Arrays.asList("ssh", "node2"), "java", "app.jar",
+                Arrays.asList("-Xmx2g"));
+        Path jobFile = folder.getRoot().toPath().resolve("job-0.json");
+
+        List<String> command = launcher.command(jobFile);
+
+        assertEquals(Arrays.asList("ssh", "node2", "java", "-Xmx2g", "-cp", "app.jar",
+                LayoutWorker.class.getName(), jobFile.toAbsolutePath().toString()), command);
+    }
+}
@@ -0,0 +1,50 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the ForkJoin layout enumerator.
+ * Results must match the sequential solver regardless of how the tree is split.
+ */
+public class ParallelLayoutEnumeratorTest {
+
+    private static String key(int[] tiles, int[] rotations) {
+        return Arrays.toString(tiles) + Arrays.toString(rotations);
+    }
+
+    @Test
+    public void testSameLayoutsAsSequentialSolver() {
+        TilePool pool = LayoutSolverTest.createCornerPool(6);
+
+        Set<String> expected = new HashSet<>();
+        new LayoutSolver(pool, 3, 2).solve((tiles, rotations) -> expected.add(key(tiles, rotations)));
+
+        Set<String> actual = ConcurrentHashMap.newKeySet();
+        long count = new ParallelLayoutEnumerator(pool, 3, 2, 4)
+                .enumerate((tiles, rotations) -> actual.add(key(tiles, rotations)) || true);
+
+        assertTrue("There should be layouts to compare", expected.size() > 0);
+        assertEquals("Every layout is reported once", expected.size(), count);
+        assertEquals("Parallel and sequential layouts match", expected, actual);
+    }
+
+    @Test
+    public void testListenerStopsEnumeration() {
+        TilePool pool = LayoutSolverTest.createCornerPool(6);
+        AtomicInteger calls = new AtomicInteger();
+
+        new ParallelLayoutEnumerator(pool, 3, 2, 4).enumerate((tiles, rotations) -> calls.incrementAndGet() < 10);
+
+        long all = new LayoutSolver(pool, 3, 2).solve((tiles, rotations) -> true);
+        assertTrue("Enumeration should stop long before the end", calls.get() < all);
+    }
+}
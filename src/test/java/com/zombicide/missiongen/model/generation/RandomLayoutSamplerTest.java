@@ -0,0 +1,76 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.board.MissionGrid;
+import com.zombicide.missiongen.model.board.MissionTileEntry;
+import com.zombicide.missiongen.model.board.TileBoard;
+
+/**
+ * Test suite for the seeded random layout sampler.
+ */
+public class RandomLayoutSamplerTest {
+
+    private static String describe(MissionGrid grid) {
+        StringBuilder builder = new StringBuilder();
+        for (MissionTileEntry[] row : grid.toMissionTileEntries()) {
+            for (MissionTileEntry entry : row) {
+                builder.append(entry.getTileName()).append('@').append(entry.getRotation()).append(' ');
+            }
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testSameSeedSameSequence() {
+        TilePool pool = LayoutSolverTest.createCornerPool(8);
+        RandomLayoutSampler sampler = new RandomLayoutSampler(pool, 3, 2, 1234L);
+
+        List<String> first = sampler.stream().limit(20).map(RandomLayoutSamplerTest::describe)
+                .collect(Collectors.toList());
+        List<String> second = new RandomLayoutSampler(pool, 3, 2, 1234L).stream().limit(20)
+                .map(RandomLayoutSamplerTest::describe).collect(Collectors.toList());
+        List<String> otherSeed = new RandomLayoutSampler(pool, 3, 2, 99L).stream().limit(20)
+                .map(RandomLayoutSamplerTest::describe).collect(Collectors.toList());
+
+        assertEquals(first, second);
+        assertFalse("Another seed gives another sequence", first.equals(otherSeed));
+    }
+
+    @Test
+    public void testSamplesAreValidAndHonourTileConstraints() {
+        TilePool pool = LayoutSolverTest.createCornerPool(8);
+        RandomLayoutSampler sampler = new RandomLayoutSampler(pool, 2, 2, 7L,
+                Arrays.asList("test.pool.5V", "test.pool.6V"), Collections.singletonList("test.pool.0V"));
+
+        long count = sampler.stream().limit(200).peek(grid -> {
+            assertTrue(grid.isCompleteAndValid());
+            String layout = describe(grid);
+            assertTrue(layout.contains("test.pool.5V@"));
+            assertTrue(layout.contains("test.pool.6V@"));
+            assertFalse(layout.contains("test.pool.0V@"));
+        }).count();
+
+        assertEquals(200, count);
+    }
+
+    @Test
+    public void testEndsWhenNoLayoutExists() {
+        TileBoard east = LayoutSolverTest.createBoard("test.east", AreaLocation.MIDDLE_RIGHT_STREET,
+                AreaLocation.MIDDLE_LEFT_STREET, AreaLocation.TOP_MIDDLE_STREET, AreaLocation.BOTTOM_MIDDLE_STREET);
+        TileBoard plain = LayoutSolverTest.createBoard("test.plain");
+        TilePool pool = new TilePool(Arrays.asList(east, plain));
+
+        assertFalse(new RandomLayoutSampler(pool, 2, 1, 3L).iterator().hasNext());
+    }
+}
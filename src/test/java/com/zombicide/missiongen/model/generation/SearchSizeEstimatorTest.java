@@ -0,0 +1,48 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.generation.SearchSizeEstimator.Estimate;
+import com.zombicide.missiongen.model.generation.SearchSizeEstimator.GenerationMode;
+
+/**
+ * Test suite for the random-probe search size estimator.
+ */
+public class SearchSizeEstimatorTest {
+
+    @Test
+    public void testEstimatesMatchExhaustiveSearch() {
+        TilePool pool = LayoutSolverTest.createCornerPool(6);
+        LayoutSolver solver = new LayoutSolver(pool, 3, 2);
+        long layouts = solver.solve((tiles, rotations) -> true);
+        long nodes = solver.getNodesExplored();
+
+        Estimate estimate = new SearchSizeEstimator(pool, 3, 2, 5L).estimate(20000);
+
+        assertEquals(nodes, estimate.getNodes(), nodes * 0.1);
+        assertEquals(layouts, estimate.getSolutions(), layouts * 0.1);
+        assertTrue(estimate.getNodesLower() <= nodes && nodes <= estimate.getNodesUpper() * 1.05);
+        assertEquals(GenerationMode.EXHAUSTIVE, estimate.recommendMode());
+        assertEquals(GenerationMode.SAMPLING, estimate.recommendMode(10));
+    }
+
+    @Test
+    public void testNoLayoutsRecommendsHeuristic() {
+        TilePool pool = new TilePool(Arrays.asList(
+                LayoutSolverTest.createBoard("test.cross", AreaLocation.MIDDLE_RIGHT_STREET,
+                        AreaLocation.MIDDLE_LEFT_STREET, AreaLocation.TOP_MIDDLE_STREET,
+                        AreaLocation.BOTTOM_MIDDLE_STREET),
+                LayoutSolverTest.createBoard("test.plain")));
+
+        Estimate estimate = new SearchSizeEstimator(pool, 2, 1, 1L).estimate(100);
+
+        assertEquals(0, estimate.getSolutions(), 0);
+        assertEquals(GenerationMode.HEURISTIC, estimate.recommendMode(1));
+    }
+}
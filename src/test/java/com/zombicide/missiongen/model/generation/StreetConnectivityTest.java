@@ -0,0 +1,112 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.areas.AreaLocation;
+import com.zombicide.missiongen.model.areas.BoardArea;
+import com.zombicide.missiongen.model.board.MissionAreaIndex;
+import com.zombicide.missiongen.model.board.TileBoard;
+import com.zombicide.missiongen.model.helpers.DisjointSet;
+
+/**
+ * Test suite for pruning layouts whose streets cannot form one network.
+ */
+public class StreetConnectivityTest {
+
+    private static TilePool createDeadEndPool() {
+        List<TileBoard> boards = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            boards.add(LayoutSolverTest.createBoard("test.end." + i, AreaLocation.MIDDLE_RIGHT_STREET));
+        }
+        boards.add(LayoutSolverTest.createCornerBoard("test.corner.0"));
+        boards.add(LayoutSolverTest.createCornerBoard("test.corner.1"));
+        boards.add(LayoutSolverTest.createBoard("test.plain.0"));
+        return new TilePool(boards);
+    }
+
+    /**
+     * Whether the street cells of a layout form one network, treating every
+     * test tile as a single street area.
+     */
+    private static boolean isConnected(TilePool pool, int width, int height, int[] tiles, int[] rotations) {
+        int[][] streetHandles = new int[tiles.length][AreaLocation.values().length];
+        for (int cell = 0; cell < tiles.length; cell++) {
+            Arrays.fill(streetHandles[cell], -1);
+            for (AreaLocation location : AreaLocation.getStreetLocations()) {
+                if (pool.hasStreet(tiles[cell], rotations[cell], location)) {
+                    streetHandles[cell][location.ordinal()] = cell;
+                }
+            }
+        }
+        DisjointSet sets = new DisjointSet(tiles.length);
+        MissionAreaIndex.mergeStreets(width, height, streetHandles, sets);
+        int root = -1;
+        for (int cell = 0; cell < tiles.length; cell++) {
+            if (pool.getEdgeSignature(tiles[cell], rotations[cell]) == 0) {
+                continue;
+            }
+            if (root >= 0 && !sets.connected(root, cell)) {
+                return false;
+            }
+            root = cell;
+        }
+        return true;
+    }
+
+    @Test
+    public void testPrunedSolverKeepsExactlyTheConnectedLayouts() {
+        TilePool pool = createDeadEndPool();
+        List<String> expected = new ArrayList<>();
+        LayoutSolver solver = new LayoutSolver(pool, 2, 2);
+        long all = solver.solve((tiles, rotations) -> {
+            if (isConnected(pool, 2, 2, tiles, rotations)) {
+                expected.add(Arrays.toString(tiles) + Arrays.toString(rotations));
+            }
+            return true;
+        });
+        long unprunedNodes = solver.getNodesExplored();
+
+        List<String> connected = new ArrayList<>();
+        solver.setConnectedStreets(true);
+        solver.solve((tiles, rotations) -> connected.add(Arrays.toString(tiles) + Arrays.toString(rotations)));
+
+        assertTrue("Some layouts should be disconnected", expected.size() < all);
+        assertEquals(expected, connected);
+        assertTrue(solver.getNodesExplored() < unprunedNodes);
+    }
+
+    @Test
+    public void testStreetsSplitInsideTheTile() {
+        // two street areas separated by a building, on a grid with no neighbours
+        TileBoard split = new TileBoard("test.split", new BufferedImage(25, 25, BufferedImage.TYPE_INT_ARGB), 250,
+                null);
+        split.addArea(new BoardArea(UUID.randomUUID(), new Point(75, 0), 100, 75, AreaLocation.TOP_MIDDLE_STREET));
+        split.addArea(new BoardArea(UUID.randomUUID(), new Point(75, 75), 100, 100));
+        split.addArea(
+                new BoardArea(UUID.randomUUID(), new Point(75, 175), 100, 75, AreaLocation.BOTTOM_MIDDLE_STREET));
+        TileBoard through = new TileBoard("test.through", new BufferedImage(25, 25, BufferedImage.TYPE_INT_ARGB),
+                250, null);
+        through.addArea(new BoardArea(UUID.randomUUID(), new Point(75, 0), 100, 75, AreaLocation.TOP_MIDDLE_STREET));
+        through.addArea(new BoardArea(UUID.randomUUID(), new Point(75, 75), 100, 100, "OUTDOOR"));
+        through.addArea(
+                new BoardArea(UUID.randomUUID(), new Point(75, 175), 100, 75, AreaLocation.BOTTOM_MIDDLE_STREET));
+        StreetConnectivity connectivity = new StreetConnectivity(new TilePool(Arrays.asList(split, through)), 1, 1);
+
+        assertFalse(connectivity.place(0, new int[] { 0 }, new int[] { 0 }));
+        assertEquals(2, connectivity.getNetworks());
+        connectivity.remove(0);
+        assertTrue(connectivity.place(0, new int[] { 1 }, new int[] { 1 }));
+        assertEquals(1, connectivity.getNetworks());
+    }
+}
@@ -0,0 +1,89 @@
+package com.zombicide.missiongen.model.generation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.zombicide.missiongen.model.board.TileBoard;
+
+/**
+ * Test suite for double-sided tiles in the layout search.
+ */
+public class TileInventoryTest {
+
+    /** Both faces of every physical tile, all corner shaped. */
+    private static List<TileBoard> createDoubleSidedBoards(int physicalTiles) {
+        List<TileBoard> boards = new ArrayList<>();
+        for (int i = 0; i < physicalTiles; i++) {
+            boards.add(LayoutSolverTest.createCornerBoard("test.pool." + i + "R"));
+            boards.add(LayoutSolverTest.createCornerBoard("test.pool." + i + "V"));
+        }
+        return boards;
+    }
+
+    @Test
+    public void testFacesArePairedByTileId() {
+        TileInventory inventory = TileInventory.fromTileIds(Arrays.asList("2ndEdition.0_original.1R",
+                "2ndEdition.0_original.2V", "2ndEdition.0_original.1V", "2ndEdition.0_original.street",
+                "2ndEdition.1_extra.1R"));
+
+        assertEquals(5, inventory.getTiles());
+        assertEquals(4, inventory.getPhysicalTiles());
+        assertEquals(inventory.getPhysicalTile(0), inventory.getPhysicalTile(2));
+        assertArrayEquals(new int[] { 0, 2 }, inventory.getFaces(0));
+        assertTrue(inventory.getPhysicalTile(4) != inventory.getPhysicalTile(0));
+    }
+
+    @Test
+    public void testFindConflicts() {
+        TileInventory inventory = new TileInventory(new int[] { 0, 0, 1, 1 });
+
+        assertEquals(0, inventory.findConflicts(new int[] { 0, 2, -1 }).size());
+        assertEquals(Arrays.asList(1), inventory.findConflicts(new int[] { 0, 3, 1 }));
+    }
+
+    @Test
+    public void testSolverNeverPlacesBothFaces() {
+        TilePool pool = new TilePool(createDoubleSidedBoards(4));
+        long[] conflicts = new long[1];
+
+        long layouts = new LayoutSolver(pool, 2, 2).solve((tiles, rotations) -> {
+            conflicts[0] += pool.getInventory().findConflicts(tiles).size();
+            return true;
+        });
+
+        // every layout of the 4 physical tiles, with either face up on each
+        long physicalLayouts = new LayoutSolver(LayoutSolverTest.createCornerPool(4), 2, 2)
+                .solve((tiles, rotations) -> true);
+        assertTrue(physicalLayouts > 0);
+        assertEquals(physicalLayouts * 16, layouts);
+        assertEquals(0, conflicts[0]);
+    }
+
+    @Test
+    public void testSingleSidedInventoryAllowsEveryFace() {
+        List<TileBoard> boards = createDoubleSidedBoards(4);
+        TilePool pool = new TilePool(boards, TileInventory.singleSided(boards.size()));
+
+        long layouts = new LayoutSolver(pool, 2, 2).solve((tiles, rotations) -> true);
+
+        // 8 tiles choose 4 instead of 4 physical tiles
+        long physicalLayouts = new LayoutSolver(LayoutSolverTest.createCornerPool(4), 2, 2)
+                .solve((tiles, rotations) -> true);
+        assertEquals(physicalLayouts * 70, layouts);
+    }
+
+    @Test
+    public void testTooFewPhysicalTiles() {
+        TilePool pool = new TilePool(createDoubleSidedBoards(3));
+
+        assertEquals(0, new LayoutSolver(pool, 2, 2).solve((tiles, rotations) -> true));
+        assertEquals(0, new ParallelLayoutEnumerator(pool, 2, 2, 2).enumerate((tiles, rotations) -> true));
+    }
+}
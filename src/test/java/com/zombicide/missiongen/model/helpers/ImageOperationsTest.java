@@ -0,0 +1,102 @@
+package com.zombicide.missiongen.model.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+/**
+ * Test suite for the quarter turn rotation kernel.
+ */
+public class ImageOperationsTest {
+
+    private static BufferedImage createImage(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, 0xFF000000 | (x << 12) | (y << 2));
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Checks every pixel against the clockwise quarter turn mapping.
+     */
+    private static void assertRotated(BufferedImage expectedSource, int turns, BufferedImage rotated) {
+        int w = expectedSource.getWidth();
+        int h = expectedSource.getHeight();
+        assertEquals(turns % 2 == 0 ? w : h, rotated.getWidth());
+        assertEquals(turns % 2 == 0 ? h : w, rotated.getHeight());
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int tx = x;
+                int ty = y;
+                int th = h;
+                int tw = w;
+                for (int turn = 0; turn < turns; turn++) {
+                    int nx = th - 1 - ty;
+                    ty = tx;
+                    tx = nx;
+                    int swap = tw;
+                    tw = th;
+                    th = swap;
+                }
+                assertEquals(expectedSource.getRGB(x, y), rotated.getRGB(tx, ty));
+            }
+        }
+    }
+
+    @Test
+    public void testEveryTurnOfARectangle() {
+        BufferedImage source = createImage(7, 4, BufferedImage.TYPE_INT_ARGB);
+        for (int turns = 0; turns < 4; turns++) {
+            BufferedImage rotated = ImageOperations.rotateQuarterTurns(source, turns, null);
+            assertNotSame(source, rotated);
+            assertRotated(source, turns, rotated);
+        }
+        assertRotated(source, 3, ImageOperations.rotateQuarterTurns(source, -1, null));
+    }
+
+    @Test
+    public void testSquareTurnsInPlace() {
+        for (int size : new int[] { 1, 4, 5 }) {
+            BufferedImage expected = createImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            for (int turns = 1; turns < 4; turns++) {
+                BufferedImage image = createImage(size, size, BufferedImage.TYPE_INT_ARGB);
+                assertSame(image, ImageOperations.rotateQuarterTurns(image, turns, image));
+                assertRotated(expected, turns, image);
+            }
+        }
+    }
+
+    @Test
+    public void testDestinationIsReused() {
+        BufferedImage source = createImage(6, 3, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage spare = new BufferedImage(3, 6, BufferedImage.TYPE_INT_ARGB);
+        assertSame(spare, ImageOperations.rotateQuarterTurns(source, 1, spare));
+        assertRotated(source, 1, spare);
+
+        // wrong size, a new image is allocated
+        assertNotSame(spare, ImageOperations.rotateQuarterTurns(source, 2, spare));
+    }
+
+    @Test
+    public void testOtherImageTypesAreConverted() {
+        BufferedImage source = createImage(5, 3, BufferedImage.TYPE_4BYTE_ABGR);
+        BufferedImage rotated = ImageOperations.rotateQuarterTurns(source, 1, source);
+        assertEquals(BufferedImage.TYPE_INT_ARGB, rotated.getType());
+        assertRotated(source, 1, rotated);
+
+        // asked to turn in place, the source is left untouched
+        BufferedImage square = createImage(4, 4, BufferedImage.TYPE_4BYTE_ABGR);
+        BufferedImage expected = createImage(4, 4, BufferedImage.TYPE_4BYTE_ABGR);
+        BufferedImage turned = ImageOperations.rotateQuarterTurns(square, 1, square);
+        assertNotSame(square, turned);
+        assertRotated(expected, 1, turned);
+        assertRotated(expected, 0, square);
+    }
+}
@@ -0,0 +1,38 @@
+package com.zombicide.missiongen.model.helpers;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.function.IntBinaryOperator;
+
+import javax.imageio.ImageIO;
+
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tile images written to disk for the tests.
+ */
+public final class TestImages {
+
+    private TestImages() {
+    }
+
+    /**
+     * Writes a square PNG named name.png into the folder.
+     *
+     * @param pixels ARGB colour of the pixel at (x, y)
+     * @return path of the written file
+     */
+    public static String writeTile(TemporaryFolder folder, String name, int size, IntBinaryOperator pixels)
+            throws IOException {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                image.setRGB(x, y, pixels.applyAsInt(x, y));
+            }
+        }
+        File file = folder.newFile(name + ".png");
+        ImageIO.write(image, "png", file);
+        return file.getPath();
+    }
+}
@@ -0,0 +1,82 @@
+package com.zombicide.missiongen.model.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test suite for the rotated tile image cache.
+ */
+public class TileImageCacheTest {
+
+    private static final int SIZE = 8;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Writes a tile image whose top-left pixel is red and the rest blue.
+     */
+    private String writeTile(String name) throws IOException {
+        return TestImages.writeTile(folder, name, SIZE, (x, y) -> x == 0 && y == 0 ? 0xFFFF0000 : 0xFF0000FF);
+    }
+
+    @Test
+    public void testSecondBuildReadsNoFile() throws IOException {
+        String path = writeTile("1V");
+        TileImageCache cache = new TileImageCache(1024 * 1024);
+
+        BufferedImage first = cache.get(path, 90);
+        assertEquals(1, cache.getDiskReads());
+        assertEquals(1, cache.getMisses());
+        // the red corner turns to the top-right
+        assertEquals(0xFFFF0000, first.getRGB(SIZE - 1, 0));
+
+        assertSame(first, cache.get(path, 90));
+        assertSame(first, cache.get(path, 450));
+        assertEquals(2, cache.getHits());
+
+        // the unrotated image was kept, other rotations derive from it
+        assertEquals(0xFFFF0000, cache.get(path, 0).getRGB(0, 0));
+        assertEquals(0xFFFF0000, cache.get(path, 180).getRGB(SIZE - 1, SIZE - 1));
+        assertEquals(1, cache.getDiskReads());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvictedOverBudget() throws IOException {
+        String a = writeTile("1V");
+        String b = writeTile("2V");
+        String c = writeTile("3V");
+        long imageBytes = SIZE * SIZE * 4;
+        TileImageCache cache = new TileImageCache(2 * imageBytes);
+
+        cache.get(a, 0);
+        cache.get(b, 0);
+        cache.get(a, 0);
+        cache.get(c, 0);
+
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2 * imageBytes, cache.getSizeBytes());
+        // b was the least recently used
+        cache.get(a, 0);
+        cache.get(c, 0);
+        assertEquals(3, cache.getDiskReads());
+        cache.get(b, 0);
+        assertEquals(4, cache.getDiskReads());
+        assertTrue(cache.getSizeBytes() <= cache.getMaxBytes());
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingFileIsReported() throws IOException {
+        new TileImageCache(1024).get(new File(folder.getRoot(), "missing.png").getPath(), 0);
+    }
+}